@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Time-to-first-request for each build variant: launch, poll GET /api/health
+# until it answers 200, print the elapsed time, stop the instance.
+#
+#   mvn package -DskipTests             && scripts/startup-time.sh jar
+#   mvn -Pcds package -DskipTests       && scripts/startup-time.sh cds
+#   mvn -Pnative native:compile         && scripts/startup-time.sh native
+#
+# Needs the database from application.properties (it is what every instance
+# talks to on startup); extra arguments are passed to the application.
+set -euo pipefail
+
+variant="${1:?usage: startup-time.sh jar|cds|native [app args...]}"
+shift
+runs="${RUNS:-5}"
+port="${PORT:-8081}"
+jar="target/taskflow-backend-0.0.1-SNAPSHOT.jar"
+
+case "$variant" in
+  jar)    cmd=(java -jar "$jar") ;;
+  cds)    cmd=(java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true
+               -jar target/cds/taskflow-backend-0.0.1-SNAPSHOT.jar) ;;
+  native) cmd=(target/taskflow-backend) ;;
+  *)      echo "unknown variant: $variant" >&2; exit 2 ;;
+esac
+
+now_ms() { date +%s%3N; }
+
+for run in $(seq 1 "$runs"); do
+  start=$(now_ms)
+  "${cmd[@]}" --server.port="$port" "$@" >/dev/null 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "http://localhost:$port/api/health"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$variant: instance exited before serving (run it by hand to see why)" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  echo "$variant run $run: $(( $(now_ms) - start )) ms to first request"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+done
@@ -1,9 +1,16 @@
 package com.dornaz.taskflowbackend;
 
+import com.dornaz.taskflowbackend.config.TaskflowRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableCaching
+@ImportRuntimeHints(TaskflowRuntimeHints.class)
 public class TaskflowBackendApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,8 @@
+package com.dornaz.taskflowbackend.audit;
+
+public enum AuditAction {
+    CREATE,
+    UPDATE,   // entity update, or a status compare-and-set recorded by TaskService
+    DELETE,   // soft delete: the entity update that sets deletedAt
+    RESTORE   // native update clearing deletedAt, recorded by TaskService / ProjectService
+}
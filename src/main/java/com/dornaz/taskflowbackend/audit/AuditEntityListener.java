@@ -0,0 +1,73 @@
+package com.dornaz.taskflowbackend.audit;
+
+import com.dornaz.taskflowbackend.model.Project;
+import com.dornaz.taskflowbackend.model.Task;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * JPA callbacks on Task and Project that feed the {@link AuditLog}. Spring
+ * hands this bean to Hibernate; the log is looked up lazily so building the
+ * EntityManagerFactory does not depend on it. Bulk (native) updates such as
+ * subtree moves and rank rebalancing bypass entity callbacks and are not audited.
+ */
+@Component
+public class AuditEntityListener {
+
+    private static final String SYSTEM_ACTOR = "system";
+
+    private final ObjectProvider<AuditLog> auditLog;
+
+    public AuditEntityListener(ObjectProvider<AuditLog> auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @PostPersist
+    public void onCreated(Object entity) {
+        record(entity, AuditAction.CREATE);
+    }
+
+    @PostUpdate
+    public void onUpdated(Object entity) {
+        record(entity, AuditAction.UPDATE);
+    }
+
+    @PostRemove
+    public void onDeleted(Object entity) {
+        record(entity, AuditAction.DELETE);
+    }
+
+    private void record(Object entity, AuditAction action) {
+        AuditLog log = auditLog.getIfAvailable();
+        if (log == null) {
+            return;
+        }
+
+        AuditEvent event;
+        if (entity instanceof Task task) {
+            if (action == AuditAction.UPDATE && task.getDeletedAt() != null) action = AuditAction.DELETE;
+            Long projectId = task.getProject() != null ? task.getProject().getId() : null;
+            String status = task.getStatus() != null ? task.getStatus().name() : null;
+            event = new AuditEvent("TASK", task.getId(), projectId, action, status, currentActor(), Instant.now());
+        } else if (entity instanceof Project project) {
+            if (action == AuditAction.UPDATE && project.getDeletedAt() != null) action = AuditAction.DELETE;
+            String status = project.getStatus() != null ? project.getStatus().name() : null;
+            event = new AuditEvent("PROJECT", project.getId(), project.getId(), action, status, currentActor(), Instant.now());
+        } else {
+            return;
+        }
+        log.record(event);
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : SYSTEM_ACTOR;
+    }
+}
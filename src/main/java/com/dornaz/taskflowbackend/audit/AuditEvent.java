@@ -0,0 +1,19 @@
+package com.dornaz.taskflowbackend.audit;
+
+import java.time.Instant;
+
+/**
+ * One change to a Task or Project. {@code status} is the entity's status
+ * after the change; {@code actor} is the authenticated email, or "system"
+ * for background jobs.
+ */
+public record AuditEvent(
+        String entityType,
+        Long entityId,
+        Long projectId,
+        AuditAction action,
+        String status,
+        String actor,
+        Instant occurredAt
+) {
+}
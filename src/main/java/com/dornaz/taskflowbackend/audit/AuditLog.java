@@ -0,0 +1,288 @@
+package com.dornaz.taskflowbackend.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail written off the request path. Events collected during a
+ * transaction are handed over after commit (rolled-back changes are never
+ * audited) to a lock-free ring buffer; one writer thread drains it with
+ * batched inserts into audit_log.
+ *
+ * <p>Durability modes ({@code app.audit.durability}):
+ * <ul>
+ *   <li>ASYNC: the request returns right away; events still in the buffer
+ *       are lost if the process dies.</li>
+ *   <li>SYNC: the request waits (up to {@code sync-timeout-ms}) until the
+ *       writer has inserted its events. Concurrent requests share the same
+ *       batch, so this is group commit rather than one insert per change.</li>
+ * </ul>
+ * When the buffer is full the producing thread waits for the writer to make
+ * room (counted as overflow): producers slow down instead of losing the trail,
+ * and events reach the table in the order they were published, so a SYNC ack
+ * on a transaction's last event also covers the ones before it.
+ *
+ * <p>Publishing runs in afterCommit, while the request still holds its
+ * connection; only the writer thread opens another one. The pool therefore
+ * needs one connection on top of the requests that can be waiting here (SYNC,
+ * or a full buffer). Before the writer has started and after it has stopped,
+ * events that do not fit are written by the producing thread instead.
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final String INSERT_SQL = """
+            insert into audit_log (entity_type, entity_id, project_id, action, status, actor, occurred_at)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    public enum Durability { ASYNC, SYNC }
+
+    // producer back-off while the buffer is full; the writer is unparked first
+    private static final long OVERFLOW_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // ack is set on the last event of a transaction when its caller waits (SYNC)
+    private record Entry(AuditEvent event, CompletableFuture<Void> ack) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final boolean enabled;
+    private final Durability durability;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long syncTimeoutMillis;
+    private final RingBuffer<Entry> buffer;
+
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter overflowCounter;
+    private final Counter syncTimeoutCounter;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public AuditLog(JdbcTemplate jdbcTemplate,
+                    PlatformTransactionManager transactionManager,
+                    MeterRegistry meterRegistry,
+                    @Value("${app.audit.enabled:true}") boolean enabled,
+                    @Value("${app.audit.durability:ASYNC}") Durability durability,
+                    @Value("${app.audit.buffer-capacity:65536}") int bufferCapacity,
+                    @Value("${app.audit.batch-size:500}") int batchSize,
+                    @Value("${app.audit.flush-interval-ms:200}") long flushIntervalMillis,
+                    @Value("${app.audit.sync-timeout-ms:2000}") long syncTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        // own transaction: fallback writes run in afterCommit, where the request's
+        // (already committed) connection is still bound and would swallow the insert
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.durability = durability;
+        this.batchSize = Math.max(batchSize, 1);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(flushIntervalMillis, 1));
+        this.syncTimeoutMillis = syncTimeoutMillis;
+        this.buffer = new RingBuffer<>(bufferCapacity);
+
+        this.writtenCounter = Counter.builder("taskflow.audit.written").register(meterRegistry);
+        this.failedCounter = Counter.builder("taskflow.audit.failed").register(meterRegistry);
+        this.overflowCounter = Counter.builder("taskflow.audit.overflow")
+                .description("publishes that had to wait for the writer because the buffer was full")
+                .register(meterRegistry);
+        this.syncTimeoutCounter = Counter.builder("taskflow.audit.sync.timeouts").register(meterRegistry);
+        this.flushTimer = Timer.builder("taskflow.audit.flush").register(meterRegistry);
+        meterRegistry.gauge("taskflow.audit.buffer.size", buffer, RingBuffer::size);
+        meterRegistry.gauge("taskflow.audit.buffer.capacity", buffer, RingBuffer::capacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::run, "audit-log-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(TimeUnit.SECONDS.toMillis(5)); // the writer drains what is left before exiting
+        }
+    }
+
+    /** Called from entity lifecycle callbacks; cheap, never touches the database. */
+    public void record(AuditEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(List.of(event));
+            return;
+        }
+
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(PendingEvents.class);
+        if (pending == null) {
+            PendingEvents created = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(PendingEvents.class, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(created.events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PendingEvents.class);
+                }
+            });
+            pending = created;
+        }
+        pending.events.add(event);
+    }
+
+    private void publish(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        CompletableFuture<Void> ack = durability == Durability.SYNC ? new CompletableFuture<>() : null;
+
+        boolean waited = false;
+        boolean ackQueued = false;
+        for (int i = 0; i < events.size(); i++) {
+            boolean last = i == events.size() - 1;
+            Entry entry = new Entry(events.get(i), last ? ack : null);
+            while (!buffer.offer(entry)) {
+                Thread thread = writer;
+                if (!running || thread == null || Thread.currentThread().isInterrupted()) {
+                    // nobody drains the buffer (startup, shutdown): write the rest here
+                    write(remaining(events, i, ack));
+                    return;
+                }
+                if (!waited) {
+                    overflowCounter.increment();
+                    waited = true;
+                }
+                LockSupport.unpark(thread); // full buffer: flush now, not at the next interval
+                LockSupport.parkNanos(this, OVERFLOW_WAIT_NANOS);
+            }
+            ackQueued |= last && ack != null;
+        }
+
+        if (ackQueued) {
+            Thread thread = writer;
+            if (thread == null) {
+                return; // writer not started yet (startup): nothing to wait for
+            }
+            LockSupport.unpark(thread); // somebody is waiting: flush now, not at the next interval
+            awaitAck(ack);
+        }
+    }
+
+    private static List<Entry> remaining(List<AuditEvent> events, int from, CompletableFuture<Void> ack) {
+        List<Entry> entries = new ArrayList<>(events.size() - from);
+        for (int i = from; i < events.size(); i++) {
+            entries.add(new Entry(events.get(i), i == events.size() - 1 ? ack : null));
+        }
+        return entries;
+    }
+
+    private void awaitAck(CompletableFuture<Void> ack) {
+        try {
+            ack.get(syncTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            syncTimeoutCounter.increment();
+            log.warn("Audit events not written within {} ms, continuing", syncTimeoutMillis);
+        } catch (ExecutionException ex) {
+            log.warn("Audit events could not be written", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (true) {
+            boolean stopping = !running;
+            buffer.drainTo(batch, batchSize);
+            if (!batch.isEmpty()) {
+                write(batch);
+                boolean full = batch.size() == batchSize;
+                batch.clear();
+                if (full) {
+                    continue; // backlog: keep draining without waiting
+                }
+            } else if (stopping) {
+                return;
+            }
+            if (running) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+    }
+
+    private void write(List<Entry> entries) {
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            AuditEvent event = entry.event();
+            rows.add(new Object[]{
+                    event.entityType(), event.entityId(), event.projectId(), event.action().name(),
+                    event.status(), event.actor(), Timestamp.from(event.occurredAt())
+            });
+        }
+
+        long start = System.nanoTime();
+        try {
+            writeTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+            writtenCounter.increment(entries.size());
+            for (Entry entry : entries) {
+                if (entry.ack() != null) entry.ack().complete(null);
+            }
+        } catch (DataAccessException | TransactionException ex) {
+            failedCounter.increment(entries.size());
+            log.warn("Dropped {} audit events", entries.size(), ex);
+            for (Entry entry : entries) {
+                if (entry.ack() != null) entry.ack().completeExceptionally(ex);
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class PendingEvents {
+        private final List<AuditEvent> events = new ArrayList<>();
+    }
+}
@@ -0,0 +1,80 @@
+package com.dornaz.taskflowbackend.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer
+ * (Vyukov-style: every slot carries a sequence number that tells producers
+ * whether it is free and the consumer whether it is filled). Producers never
+ * block: {@link #offer} returns false when the buffer is full.
+ */
+final class RingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // written by the consumer thread only; volatile so size() can read it
+    private volatile long head;
+
+    RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(T item) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, item);
+                    sequences.set(index, pos + 1); // publishes the slot to the consumer
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // the consumer has not freed this slot yet: full
+            } else {
+                pos = tail.get(); // another producer took it
+            }
+        }
+    }
+
+    /** Consumer only. Moves up to {@code max} items into {@code out}; returns how many. */
+    int drainTo(List<T> out, int max) {
+        long pos = head;
+        int count = 0;
+        while (count < max) {
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                break; // empty, or a producer claimed the slot but has not filled it yet
+            }
+            out.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.set(index, pos + mask + 1); // free for the next lap
+            pos++;
+            count++;
+        }
+        head = pos;
+        return count;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.dornaz.taskflowbackend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    // dependency graphs are large values: their own, much smaller bound than spring.cache.caffeine.spec
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> taskGraphCacheCustomizer(
+            @Value("${app.cache.task-graphs.max-projects:200}") long maxProjects,
+            @Value("${app.cache.task-graphs.expire-after-access-minutes:30}") long expireMinutes) {
+        return cacheManager -> cacheManager.registerCustomCache(
+                CacheNames.TASK_GRAPHS,
+                Caffeine.newBuilder()
+                        .maximumSize(maxProjects)
+                        .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,144 @@
+package com.dornaz.taskflowbackend.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Publishes entity change keys to every instance with Postgres NOTIFY.
+ *
+ * Inside a transaction the keys are collected and sent as one NOTIFY just
+ * before commit; Postgres delivers it only if the transaction commits, so
+ * other nodes never evict for a write that rolled back (or too early).
+ * Outside a transaction the NOTIFY goes out immediately.
+ *
+ * Names with a {@link #subscribe subscriber} are not caches: their ids go to
+ * the subscriber, e.g. to patch a cached value instead of dropping it.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    public static final String CHANNEL = "taskflow_cache";
+
+    // NOTIFY payloads must stay under 8000 bytes
+    private static final int MAX_PAYLOAD_CHARS = 7000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final Map<String, Consumer<String>> subscribers = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate, CacheManager cacheManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+    }
+
+    public void publish(String cacheName, Object id) {
+        String key = cacheName + ":" + id;
+
+        // our own copy goes right away; the NOTIFY echo evicts again after commit
+        evictLocally(Set.of(key));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyKeys(Set.of(key));
+            return;
+        }
+
+        PendingKeys pending = (PendingKeys) TransactionSynchronizationManager.getResource(PendingKeys.class);
+        if (pending == null) {
+            PendingKeys created = new PendingKeys();
+            TransactionSynchronizationManager.bindResource(PendingKeys.class, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    notifyKeys(created.keys);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PendingKeys.class);
+                }
+            });
+            pending = created;
+        }
+        pending.keys.add(key);
+    }
+
+    /** Ids published under {@code name} go to {@code handler}, locally and from other instances. */
+    public void subscribe(String name, Consumer<String> handler) {
+        subscribers.put(name, handler);
+    }
+
+    /** Applies "<cache>:<id>" keys to the local caches. */
+    public void evictLocally(Collection<String> keys) {
+        for (String key : keys) {
+            int sep = key.indexOf(':');
+            if (sep <= 0) {
+                continue;
+            }
+            Consumer<String> subscriber = subscribers.get(key.substring(0, sep));
+            if (subscriber != null) {
+                subscriber.accept(key.substring(sep + 1));
+                continue;
+            }
+            Cache cache = cacheManager.getCache(key.substring(0, sep));
+            if (cache != null) {
+                cache.evict(parseId(key.substring(sep + 1)));
+            }
+        }
+    }
+
+    /** Used when notifications may have been missed (listener reconnect). */
+    public void evictAllLocally() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    // ---------- helpers ----------
+
+    private void notifyKeys(Collection<String> keys) {
+        StringBuilder payload = new StringBuilder();
+        for (String key : keys) {
+            if (payload.length() + key.length() + 1 > MAX_PAYLOAD_CHARS) {
+                sendNotify(payload.toString());
+                payload.setLength(0);
+            }
+            if (payload.length() > 0) {
+                payload.append(',');
+            }
+            payload.append(key);
+        }
+        if (payload.length() > 0) {
+            sendNotify(payload.toString());
+        }
+    }
+
+    private void sendNotify(String payload) {
+        jdbcTemplate.queryForObject("select pg_notify(?, ?)", Object.class, CHANNEL, payload);
+    }
+
+    private Object parseId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException ex) {
+            return id;
+        }
+    }
+
+    private static final class PendingKeys {
+        final Set<String> keys = new LinkedHashSet<>();
+    }
+}
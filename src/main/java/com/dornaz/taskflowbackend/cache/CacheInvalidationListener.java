@@ -0,0 +1,110 @@
+package com.dornaz.taskflowbackend.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * LISTENs on the invalidation channel over a dedicated connection (not taken
+ * from the pool) and evicts local cache entries. Every poll drains all pending
+ * notifications and evicts them as one batch. Whenever the connection is
+ * (re)established everything is flushed, since notifications sent while we
+ * were not listening are lost.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private final CacheInvalidationBus bus;
+    private final DataSourceProperties dataSourceProperties;
+    private final int pollTimeoutMillis;
+    private final long reconnectDelayMillis;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public CacheInvalidationListener(CacheInvalidationBus bus,
+                                     DataSourceProperties dataSourceProperties,
+                                     @Value("${app.cache.invalidation.poll-timeout-ms:500}") int pollTimeoutMillis,
+                                     @Value("${app.cache.invalidation.reconnect-delay-ms:2000}") long reconnectDelayMillis) {
+        this.bus = bus;
+        this.dataSourceProperties = dataSourceProperties;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CacheInvalidationBus.CHANNEL);
+                }
+                // anything published before LISTEN took effect is gone
+                bus.evictAllLocally();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications == null || notifications.length == 0) {
+                        continue;
+                    }
+                    Set<String> keys = new LinkedHashSet<>();
+                    for (PGNotification notification : notifications) {
+                        keys.addAll(Arrays.asList(notification.getParameter().split(",")));
+                    }
+                    bus.evictLocally(keys);
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, flushing local caches", ex);
+                bus.evictAllLocally();
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
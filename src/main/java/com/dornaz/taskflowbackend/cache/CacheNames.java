@@ -0,0 +1,16 @@
+package com.dornaz.taskflowbackend.cache;
+
+/**
+ * Local (per-instance) caches. Change keys on the invalidation bus are
+ * "<cache>:<id>", e.g. "projects:42".
+ */
+public final class CacheNames {
+
+    public static final String PROJECTS = "projects";
+    public static final String MEMBERSHIPS = "memberships"; // keyed by user id
+    public static final String TASK_GRAPHS = "taskGraphs"; // keyed by project id, see CacheConfig
+    public static final String TASK_GRAPH_NODES = "taskGraphNodes"; // "<projectId>/<taskId>": patched, not evicted
+
+    private CacheNames() {
+    }
+}
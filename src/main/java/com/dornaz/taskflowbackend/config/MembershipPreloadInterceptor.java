@@ -0,0 +1,33 @@
+package com.dornaz.taskflowbackend.config;
+
+import com.dornaz.taskflowbackend.security.CustomUserDetails;
+import com.dornaz.taskflowbackend.service.ProjectAccessService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Loads the caller's project memberships before the handler (and its
+ * transaction) runs, so a cache miss costs one short primary transaction
+ * instead of a second connection held next to the request's own.
+ */
+public class MembershipPreloadInterceptor implements HandlerInterceptor {
+
+    private final ProjectAccessService projectAccessService;
+
+    public MembershipPreloadInterceptor(ProjectAccessService projectAccessService) {
+        this.projectAccessService = projectAccessService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // Basic auth has already loaded the user: its id comes for free
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user) {
+            projectAccessService.membershipsOf(user.getId());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package com.dornaz.taskflowbackend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the
+ * primary. Must sit behind a LazyConnectionDataSourceProxy so the routing
+ * decision happens after the transaction's read-only flag is set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    // set per request by ReadYourWritesInterceptor, handed to async work through propagate()
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    public static void forcePrimary() {
+        FORCE_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        FORCE_PRIMARY.remove();
+    }
+
+    /**
+     * Carries the calling thread's decision over to the thread that runs {@code task}
+     * (executors behind async handlers); the worker is reset afterwards.
+     */
+    public static Runnable propagate(Runnable task) {
+        boolean primary = Boolean.TRUE.equals(FORCE_PRIMARY.get());
+        if (!primary) {
+            return task;
+        }
+        return () -> {
+            FORCE_PRIMARY.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                FORCE_PRIMARY.remove();
+            }
+        };
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (Boolean.TRUE.equals(FORCE_PRIMARY.get())) {
+            return Route.PRIMARY;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
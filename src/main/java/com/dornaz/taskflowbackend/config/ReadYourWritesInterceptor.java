@@ -0,0 +1,92 @@
+package com.dornaz.taskflowbackend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides per request whether reads may go to the replica.
+ *
+ * Writes always use the primary (their lookups included, so read-modify-write
+ * never starts from a stale row). After a successful write, the same user's
+ * reads stay on the primary for a short window so they see their own change
+ * despite replication lag.
+ *
+ * Async handlers: the servlet thread is released once the handler returned its
+ * future, so the flag is cleared there; work on other threads gets it through
+ * {@link ReadWriteRoutingDataSource#propagate}, and the async dispatch that
+ * writes the response runs preHandle/afterCompletion again.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private static final int MAX_TRACKED_USERS = 100_000;
+
+    private final long stickyNanos;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesInterceptor(long stickySeconds) {
+        this.stickyNanos = stickySeconds * 1_000_000_000L;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isWrite(request) || isSticky(currentUser())) {
+            ReadWriteRoutingDataSource.forcePrimary();
+        }
+        return true;
+    }
+
+    // afterCompletion only runs after the async dispatch, on another pooled thread
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadWriteRoutingDataSource.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadWriteRoutingDataSource.clear();
+
+        String user = currentUser();
+        if (user != null && isWrite(request) && ex == null && response.getStatus() < 400) {
+            long now = System.nanoTime();
+            if (stickyUntil.size() >= MAX_TRACKED_USERS) {
+                stickyUntil.values().removeIf(until -> until - now <= 0);
+            }
+            stickyUntil.put(user, now + stickyNanos);
+        }
+    }
+
+    private boolean isSticky(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(user, until);
+        return false;
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -1,6 +1,9 @@
 package com.dornaz.taskflowbackend.config;
 
 import com.dornaz.taskflowbackend.security.CustomUserDetailsService;
+import com.dornaz.taskflowbackend.security.RateLimitFilter;
+import com.dornaz.taskflowbackend.security.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -11,13 +14,18 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            RateLimiter rateLimiter,
+            @Value("${ratelimit.enabled:true}") boolean rateLimitEnabled
+    ) throws Exception {
 
         http
                 .csrf(csrf -> csrf.disable())
@@ -28,19 +36,31 @@ public class SecurityConfig {
                         // ✅ PUBLIC endpoints (exact matches)
                         .requestMatchers("/api/health").permitAll()
                         .requestMatchers("/api/users").permitAll()
+                        .requestMatchers("/api/users/bulk").hasRole("ADMIN")
                         .requestMatchers("/api/auth/login").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         // ✅ everything else requires Basic Auth
                         .anyRequest().authenticated()
                 )
                 .httpBasic(Customizer.withDefaults());
 
+        // ✅ admission control: per-IP before BCrypt runs, per-user once authenticated
+        if (rateLimitEnabled) {
+            http
+                    .addFilterBefore(new RateLimitFilter(rateLimiter, RateLimiter.Scope.IP),
+                            BasicAuthenticationFilter.class)
+                    .addFilterAfter(new RateLimitFilter(rateLimiter, RateLimiter.Scope.USER),
+                            BasicAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 
+    // raising the strength upgrades existing hashes transparently on next login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
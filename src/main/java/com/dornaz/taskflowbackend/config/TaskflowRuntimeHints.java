@@ -0,0 +1,78 @@
+package com.dornaz.taskflowbackend.config;
+
+import com.dornaz.taskflowbackend.audit.AuditEntityListener;
+import com.dornaz.taskflowbackend.model.ArchivedTask;
+import com.dornaz.taskflowbackend.model.AuditLogEntry;
+import com.dornaz.taskflowbackend.model.Project;
+import com.dornaz.taskflowbackend.model.ProjectDailyStats;
+import com.dornaz.taskflowbackend.model.ProjectMember;
+import com.dornaz.taskflowbackend.model.SentReminder;
+import com.dornaz.taskflowbackend.model.Task;
+import com.dornaz.taskflowbackend.model.TaskDependency;
+import com.dornaz.taskflowbackend.model.TaskRecord;
+import com.dornaz.taskflowbackend.model.TaskStatusTransition;
+import com.dornaz.taskflowbackend.model.TaskTombstone;
+import com.dornaz.taskflowbackend.model.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the AOT / native builds (see the "cds"
+ * and "native" profiles in pom.xml). Spring's JPA and Spring Data AOT already
+ * cover most of the mapping and repository projections; what is listed here is
+ * what they cannot see:
+ * <ul>
+ *   <li>entities: Hibernate reads fields and calls lifecycle callbacks
+ *       reflectively, including the Lombok-generated accessors on User
+ *       (Lombok itself is compile-time only and needs no hints);</li>
+ *   <li>jjwt 0.11: Jwts instantiates its implementation classes by name and
+ *       finds the Jackson (de)serializer and compression codecs through
+ *       ServiceLoader; jjwt-impl / jjwt-jackson are runtime-only, hence the
+ *       string type references.</li>
+ * </ul>
+ */
+public class TaskflowRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            User.class, Project.class, ProjectMember.class, Task.class, TaskRecord.class, ArchivedTask.class,
+            TaskTombstone.class, TaskStatusTransition.class, ProjectDailyStats.class, ProjectDailyStats.Key.class,
+            SentReminder.class, TaskDependency.class, AuditLogEntry.class
+    );
+
+    private static final List<String> JJWT_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : ENTITIES) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.ACCESS_DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        hints.reflection().registerType(AuditEntityListener.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+    }
+}
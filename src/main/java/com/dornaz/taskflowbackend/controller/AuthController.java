@@ -5,72 +5,62 @@ import com.dornaz.taskflowbackend.dto.auth.CreateUserRequest;
 import com.dornaz.taskflowbackend.dto.auth.LoginRequest;
 import com.dornaz.taskflowbackend.model.User;
 import com.dornaz.taskflowbackend.model.UserRole;
-import com.dornaz.taskflowbackend.repository.UserRepository;
+import com.dornaz.taskflowbackend.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserService userService;
 
-    public AuthController(UserRepository userRepository,
-                          PasswordEncoder passwordEncoder) {
-        this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+    public AuthController(UserService userService) {
+        this.userService = userService;
     }
 
     // ---------- REGISTER ----------
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody CreateUserRequest request) {
-
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already registered");
-        }
+    // ✅ async: the request thread is released while BCrypt runs on the hashing pool
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@Valid @RequestBody CreateUserRequest request) {
 
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
-        user.setRole(UserRole.USER);
+        return userService.createUser(request, UserRole.USER).thenApply(created -> {
+            User saved = created.orElseThrow(() ->
+                    new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already registered"));
 
-        User saved = userRepository.save(user);
+            AuthResponse response = new AuthResponse();
+            response.setUserId((long) saved.getId());
+            response.setUsername(saved.getUsername());
+            response.setEmail(saved.getEmail());
+            response.setRole(saved.getRole().name());
+            response.setToken(null); // NO JWT
 
-        AuthResponse response = new AuthResponse();
-        response.setUserId((long) saved.getId());
-        response.setUsername(saved.getUsername());
-        response.setEmail(saved.getEmail());
-        response.setRole(saved.getRole().name());
-        response.setToken(null); // NO JWT
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
     }
 
     // ---------- LOGIN ----------
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() ->
-                        new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
-        }
+        // ✅ stored hash older than the configured BCrypt cost is upgraded inside
+        return userService.authenticate(request.getEmail(), request.getPassword()).thenApply(found -> {
+            User user = found.orElseThrow(() ->
+                    new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
 
-        AuthResponse response = new AuthResponse();
-        response.setUserId((long) user.getId());
-        response.setUsername(user.getUsername());
-        response.setEmail(user.getEmail());
-        response.setRole(user.getRole() != null ? user.getRole().name() : "USER");
-        response.setToken(null);
+            AuthResponse response = new AuthResponse();
+            response.setUserId((long) user.getId());
+            response.setUsername(user.getUsername());
+            response.setEmail(user.getEmail());
+            response.setRole(user.getRole() != null ? user.getRole().name() : "USER");
+            response.setToken(null);
 
-        return ResponseEntity.ok(response);
+            return ResponseEntity.ok(response);
+        });
     }
 }
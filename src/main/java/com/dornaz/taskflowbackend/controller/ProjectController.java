@@ -1,34 +1,49 @@
 package com.dornaz.taskflowbackend.controller;
 
+import com.dornaz.taskflowbackend.dto.common.FieldSelection;
 import com.dornaz.taskflowbackend.dto.common.PagedResponse;
+import com.dornaz.taskflowbackend.dto.project.ProjectAnalyticsResponse;
+import com.dornaz.taskflowbackend.dto.project.ProjectMemberRequest;
+import com.dornaz.taskflowbackend.dto.project.ProjectMemberResponse;
 import com.dornaz.taskflowbackend.dto.project.ProjectRequest;
 import com.dornaz.taskflowbackend.dto.project.ProjectResponse;
-import com.dornaz.taskflowbackend.model.Project;
-import com.dornaz.taskflowbackend.model.ProjectStatus;
 import com.dornaz.taskflowbackend.model.User;
-import com.dornaz.taskflowbackend.repository.ProjectRepository;
 import com.dornaz.taskflowbackend.repository.UserRepository;
 import com.dornaz.taskflowbackend.security.CustomUserDetails;
-import org.springframework.data.domain.*;
+import com.dornaz.taskflowbackend.service.IdempotencyService;
+import com.dornaz.taskflowbackend.service.ProjectService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/projects")
 public class ProjectController {
 
-    private final ProjectRepository projectRepository;
+    // fields=... on project lists: JSON names of ProjectResponse
+    private static final List<String> PROJECT_FIELDS = List.of(
+            "id", "name", "description", "status", "dueDate", "ownerId", "ownerEmail", "createdAt", "updatedAt",
+            "version"
+    );
+
+    private final ProjectService projectService;
     private final UserRepository userRepository;
+    private final IdempotencyService idempotencyService;
 
-    public ProjectController(ProjectRepository projectRepository,
-                             UserRepository userRepository) {
-        this.projectRepository = projectRepository;
+    public ProjectController(ProjectService projectService,
+                             UserRepository userRepository,
+                             IdempotencyService idempotencyService) {
+        this.projectService = projectService;
         this.userRepository = userRepository;
+        this.idempotencyService = idempotencyService;
     }
 
     // ---------- helpers ----------
@@ -43,120 +58,77 @@ public class ProjectController {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid auth principal");
         }
 
-        return userRepository.findByEmail(cud.getEmail())
+        return userRepository.findByEmailIgnoreCase(cud.getEmail())
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.UNAUTHORIZED, "User not found for email: " + cud.getEmail()
                 ));
     }
 
-    private ProjectResponse toResponse(Project project) {
-        ProjectResponse dto = new ProjectResponse();
-        dto.setId(project.getId());
-        dto.setName(project.getName());
-        dto.setDescription(project.getDescription());
-        dto.setStatus(project.getStatus() != null ? project.getStatus().name() : null);
-        dto.setDueDate(project.getDueDate());
-
-        if (project.getOwner() != null) {
-            dto.setOwnerId(project.getOwner().getId());
-            dto.setOwnerEmail(project.getOwner().getEmail());
-        }
-
-        dto.setCreatedAt(project.getCreatedAt());
-        dto.setUpdatedAt(project.getUpdatedAt());
-        return dto;
-    }
-
-    private void applyRequestToProject(ProjectRequest request, Project project) {
-        project.setName(request.getName());
-        project.setDescription(request.getDescription());
-        project.setDueDate(request.getDueDate());
-
-        if (request.getStatus() != null) {
-            try {
-                project.setStatus(ProjectStatus.valueOf(request.getStatus()));
-            } catch (IllegalArgumentException ex) {
-                throw new ResponseStatusException(
-                        HttpStatus.BAD_REQUEST,
-                        "Invalid status: " + request.getStatus()
-                );
-            }
-        }
-    }
-
     // ---------- endpoints ----------
 
     @PostMapping
     public ResponseEntity<ProjectResponse> createProject(
             @RequestBody ProjectRequest request,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
             Authentication authentication
     ) {
-        User currentUser = getCurrentUser(authentication);
-
-        Project project = new Project();
-        applyRequestToProject(request, project);
-        project.setOwner(currentUser);
-
-        Project saved = projectRepository.save(project);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(saved));
+        // ✅ client retries with the same key get the first response back
+        return idempotencyService.execute(authentication.getName(), "POST /api/projects", idempotencyKey, request, () -> {
+            User currentUser = getCurrentUser(authentication);
+            ProjectResponse created = projectService.createProject(request, currentUser);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        });
     }
 
-    // ✅ UPDATED: pagination + sorting (like your TaskController)
+    // ✅ UPDATED: pagination + sorting (like your TaskController); owned and shared projects
     @GetMapping
-    public ResponseEntity<PagedResponse<ProjectResponse>> getMyProjects(
+    public ResponseEntity<PagedResponse<?>> getMyProjects(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String fields,
             Authentication authentication
     ) {
-        User currentUser = getCurrentUser(authentication);
+        // ✅ sparse fieldsets: only the requested columns are selected
+        FieldSelection selection = FieldSelection.parse(fields, PROJECT_FIELDS);
 
-        Sort.Direction dir;
-        try {
-            dir = Sort.Direction.fromString(direction);
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "direction must be asc or desc");
-        }
+        User currentUser = getCurrentUser(authentication);
 
-        Pageable pageable = PageRequest.of(
-                Math.max(page, 0),
-                Math.min(Math.max(size, 1), 50),
-                Sort.by(dir, sortBy)
-        );
-
-        Page<Project> projectPage = projectRepository.findByOwner(currentUser, pageable);
-
-        List<ProjectResponse> content = projectPage.getContent()
-                .stream()
-                .map(this::toResponse)
-                .toList();
-
-        PagedResponse<ProjectResponse> response = new PagedResponse<>(
-                content,
-                projectPage.getNumber(),
-                projectPage.getSize(),
-                projectPage.getTotalElements(),
-                projectPage.getTotalPages(),
-                projectPage.isLast()
-        );
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(projectService.getMyProjects(page, size, sortBy, direction, selection, currentUser));
     }
 
+    // ✅ cached per instance; every node evicts on writes via the invalidation bus
     @GetMapping("/{id}")
     public ResponseEntity<ProjectResponse> getProjectById(
             @PathVariable Long id,
             Authentication authentication
     ) {
         User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(projectService.getProject(id, currentUser));
+    }
 
-        Project project = projectRepository.findByIdAndOwner(id, currentUser)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Project not found"
-                ));
+    // ✅ burndown / throughput / cycle time, read from the daily rollups
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<ProjectAnalyticsResponse> getProjectAnalytics(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
 
-        return ResponseEntity.ok(toResponse(project));
+        // days are UTC; default window is the last 30 days
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (start.plusDays(366).isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most 366 days per request");
+        }
+
+        return ResponseEntity.ok(projectService.getAnalytics(id, start, end, currentUser));
     }
 
     @PutMapping("/{id}")
@@ -166,31 +138,61 @@ public class ProjectController {
             Authentication authentication
     ) {
         User currentUser = getCurrentUser(authentication);
-
-        Project project = projectRepository.findByIdAndOwner(id, currentUser)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Project not found"
-                ));
-
-        applyRequestToProject(request, project);
-        Project updated = projectRepository.save(project);
-
-        return ResponseEntity.ok(toResponse(updated));
+        return ResponseEntity.ok(projectService.updateProject(id, request, currentUser));
     }
 
+    // ✅ soft delete: tasks, members and history stay until SoftDeletePurger removes them
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProject(
             @PathVariable Long id,
             Authentication authentication
     ) {
         User currentUser = getCurrentUser(authentication);
+        projectService.deleteProject(id, currentUser);
+        return ResponseEntity.noContent().build();
+    }
 
-        Project project = projectRepository.findByIdAndOwner(id, currentUser)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Project not found"
-                ));
+    // ✅ undo a delete within the retention period (owner only)
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<ProjectResponse> restoreProject(
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(projectService.restoreProject(id, currentUser));
+    }
+
+    // ---------- members ----------
 
-        projectRepository.delete(project);
+    @GetMapping("/{id}/members")
+    public ResponseEntity<List<ProjectMemberResponse>> getMembers(
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(projectService.getMembers(id, currentUser));
+    }
+
+    // ✅ add a collaborator, or change their role
+    @PutMapping("/{id}/members")
+    public ResponseEntity<ProjectMemberResponse> putMember(
+            @PathVariable Long id,
+            @Valid @RequestBody ProjectMemberRequest request,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(projectService.putMember(id, request, currentUser));
+    }
+
+    // admins remove anyone; members may always remove themselves
+    @DeleteMapping("/{id}/members/{userId}")
+    public ResponseEntity<Void> removeMember(
+            @PathVariable Long id,
+            @PathVariable Long userId,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        projectService.removeMember(id, userId, currentUser);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,17 +1,27 @@
 package com.dornaz.taskflowbackend.controller;
 
+import com.dornaz.taskflowbackend.dto.common.CursorPagedResponse;
+import com.dornaz.taskflowbackend.dto.common.FieldSelection;
 import com.dornaz.taskflowbackend.dto.common.PagedResponse;
+import com.dornaz.taskflowbackend.dto.task.AddBlockerRequest;
+import com.dornaz.taskflowbackend.dto.task.BatchTasksRequest;
+import com.dornaz.taskflowbackend.dto.task.BatchTasksResponse;
+import com.dornaz.taskflowbackend.dto.task.BoardResponse;
+import com.dornaz.taskflowbackend.dto.task.DependencyGraphResponse;
+import com.dornaz.taskflowbackend.dto.task.MoveTaskRequest;
+import com.dornaz.taskflowbackend.dto.task.ReparentTaskRequest;
+import com.dornaz.taskflowbackend.dto.task.SubtreeResponse;
+import com.dornaz.taskflowbackend.dto.task.TaskChangesResponse;
 import com.dornaz.taskflowbackend.dto.task.TaskRequest;
 import com.dornaz.taskflowbackend.dto.task.TaskResponse;
-import com.dornaz.taskflowbackend.model.Project;
-import com.dornaz.taskflowbackend.model.Task;
-import com.dornaz.taskflowbackend.model.TaskStatus;
+import com.dornaz.taskflowbackend.dto.task.TaskStatusRequest;
+import com.dornaz.taskflowbackend.dto.task.TaskStatusResponse;
+import com.dornaz.taskflowbackend.dto.task.TaskSuggestionResponse;
 import com.dornaz.taskflowbackend.model.User;
-import com.dornaz.taskflowbackend.repository.ProjectRepository;
-import com.dornaz.taskflowbackend.repository.TaskRepository;
 import com.dornaz.taskflowbackend.repository.UserRepository;
+import com.dornaz.taskflowbackend.service.IdempotencyService;
+import com.dornaz.taskflowbackend.service.TaskService;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -24,16 +34,22 @@ import java.util.List;
 @RequestMapping("/api")
 public class TaskController {
 
-    private final TaskRepository taskRepository;
-    private final ProjectRepository projectRepository;
+    // fields=... on task lists: JSON names of TaskResponse
+    private static final List<String> TASK_FIELDS = List.of(
+            "id", "title", "description", "status", "dueDate", "priority", "rank", "parentId",
+            "projectId", "projectName", "createdAt", "updatedAt", "archived", "version"
+    );
+
+    private final TaskService taskService;
     private final UserRepository userRepository;
+    private final IdempotencyService idempotencyService;
 
-    public TaskController(TaskRepository taskRepository,
-                          ProjectRepository projectRepository,
-                          UserRepository userRepository) {
-        this.taskRepository = taskRepository;
-        this.projectRepository = projectRepository;
+    public TaskController(TaskService taskService,
+                          UserRepository userRepository,
+                          IdempotencyService idempotencyService) {
+        this.taskService = taskService;
         this.userRepository = userRepository;
+        this.idempotencyService = idempotencyService;
     }
 
     // ---------- helpers ----------
@@ -44,151 +60,120 @@ public class TaskController {
         }
 
         String email = authentication.getName();
-        return userRepository.findByEmail(email)
+        return userRepository.findByEmailIgnoreCase(email)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.UNAUTHORIZED, "User not found for email: " + email
                 ));
     }
 
-    private void ensureProjectBelongsToUser(Project project, User user) {
-        if (project.getOwner() == null || project.getOwner().getId() == null) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Project has no owner");
-        }
-        if (!project.getOwner().getId().equals(user.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not your project");
-        }
-    }
-
-    private TaskResponse toResponse(Task task) {
-        TaskResponse dto = new TaskResponse();
-        dto.setId(task.getId());
-        dto.setTitle(task.getTitle());
-        dto.setDescription(task.getDescription());
-        dto.setStatus(task.getStatus() != null ? task.getStatus().name() : null);
-        dto.setDueDate(task.getDueDate());
-        dto.setPriority(task.getPriority());
-
-        if (task.getProject() != null) {
-            dto.setProjectId(task.getProject().getId());
-            dto.setProjectName(task.getProject().getName());
-        }
-
-        dto.setCreatedAt(task.getCreatedAt());
-        dto.setUpdatedAt(task.getUpdatedAt());
-
-        return dto;
-    }
-
-    private void applyRequestToTask(TaskRequest request, Task task) {
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setDueDate(request.getDueDate());
-
-        // default priority if missing
-        Integer priority = request.getPriority();
-        task.setPriority(priority != null ? priority : 2);
-
-        if (request.getStatus() != null) {
-            try {
-                task.setStatus(TaskStatus.valueOf(request.getStatus()));
-            } catch (IllegalArgumentException ex) {
-                throw new ResponseStatusException(
-                        HttpStatus.BAD_REQUEST,
-                        "Invalid task status: " + request.getStatus()
-                );
-            }
-        }
-    }
-
     // ---------- endpoints ----------
 
     @PostMapping("/projects/{projectId}/tasks")
     public ResponseEntity<TaskResponse> createTask(
             @PathVariable Long projectId,
             @Valid @RequestBody TaskRequest request,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
             Authentication authentication
     ) {
-        User currentUser = getCurrentUser(authentication);
-
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Project not found"
-                ));
-
-        ensureProjectBelongsToUser(project, currentUser);
-
-        Task task = new Task();
-        applyRequestToTask(request, task);
-        task.setProject(project);
-
-        Task saved = taskRepository.save(task);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(saved));
+        // ✅ client retries with the same key get the first response back
+        String endpoint = "POST /api/projects/" + projectId + "/tasks";
+        return idempotencyService.execute(authentication.getName(), endpoint, idempotencyKey, request, () -> {
+            User currentUser = getCurrentUser(authentication);
+            TaskResponse created = taskService.createTask(projectId, request, currentUser);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        });
     }
 
     // ✅ UPDATED: pagination + sorting
     @GetMapping("/projects/{projectId}/tasks")
-    public ResponseEntity<PagedResponse<TaskResponse>> getTasksForProject(
+    public ResponseEntity<PagedResponse<?>> getTasksForProject(
             @PathVariable Long projectId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) String fields,
             Authentication authentication
     ) {
-        User currentUser = getCurrentUser(authentication);
+        // ✅ sparse fieldsets: only the requested columns are selected
+        FieldSelection selection = FieldSelection.parse(fields, TASK_FIELDS);
 
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Project not found"
-                ));
-
-        ensureProjectBelongsToUser(project, currentUser);
-
-        // ✅ direction safe
-        Sort.Direction dir;
-        try {
-            dir = Sort.Direction.fromString(direction);
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "direction must be asc or desc");
-        }
-
-        // ✅ sortBy safe (prevents 500)
-        String mappedSort = switch (sortBy) {
-            case "createdAt" -> "createdAt";
-            case "dueDate" -> "dueDate";
-            case "title" -> "title";
-            case "status" -> "status";      // enum field is fine
-            case "priority" -> "priority";  // MUST match Task field name EXACTLY
-            default -> throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST,
-                    "Invalid sortBy. Allowed: createdAt, dueDate, title, status, priority"
-            );
-        };
+        User currentUser = getCurrentUser(authentication);
 
-        int safePage = Math.max(page, 0);
-        int safeSize = Math.min(Math.max(size, 1), 50);
+        return ResponseEntity.ok(taskService.getTasksForProject(
+                projectId, page, size, sortBy, direction, includeArchived, selection, currentUser));
+    }
 
-        Pageable pageable = PageRequest.of(safePage, safeSize, Sort.by(dir, mappedSort));
+    // ✅ delta sync: tasks changed + ids deleted since the client's token
+    @GetMapping("/projects/{projectId}/tasks/changes")
+    public ResponseEntity<TaskChangesResponse> getTaskChanges(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "200") int limit,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.getTaskChanges(projectId, since, limit, currentUser));
+    }
 
-        Page<Task> taskPage = taskRepository.findByProject(project, pageable);
+    // ✅ Kanban board: every status column (page + total count) from one query
+    @GetMapping("/projects/{projectId}/board")
+    public ResponseEntity<BoardResponse> getBoard(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.getBoard(projectId, limit, status, cursor, currentUser));
+    }
 
-        List<TaskResponse> content = taskPage.getContent()
-                .stream()
-                .map(this::toResponse)
-                .toList();
+    // ✅ quick-switcher type-ahead across all accessible projects (trigram index)
+    @GetMapping("/me/tasks/search")
+    public ResponseEntity<List<TaskSuggestionResponse>> searchMyTasks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.searchMyTasks(q, limit, currentUser));
+    }
 
-        PagedResponse<TaskResponse> response = new PagedResponse<>(
-                content,
-                taskPage.getNumber(),
-                taskPage.getSize(),
-                taskPage.getTotalElements(),
-                taskPage.getTotalPages(),
-                taskPage.isLast()
-        );
+    // ✅ personal agenda: one query across all accessible projects, keyset paged
+    @GetMapping("/me/tasks")
+    public ResponseEntity<CursorPagedResponse<TaskResponse>> getMyTasks(
+            @RequestParam(defaultValue = "open") String filter,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "dueDate") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.getMyTasks(filter, days, sortBy, cursor, size, currentUser));
+    }
 
-        return ResponseEntity.ok(response);
+    // ✅ batch get: many ids, one membership-filtered query
+    @GetMapping("/tasks")
+    public ResponseEntity<BatchTasksResponse> getTasksByIds(
+            @RequestParam List<Long> ids,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.getTasksByIds(ids, currentUser));
     }
 
+    // same as GET /tasks?ids=..., for id lists too long for a URL
+    @PostMapping("/tasks/batch")
+    public ResponseEntity<BatchTasksResponse> getTasksByIdsPost(
+            @Valid @RequestBody BatchTasksRequest request,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.getTasksByIds(request.getIds(), currentUser));
+    }
 
     @GetMapping("/tasks/{id}")
     public ResponseEntity<TaskResponse> getTaskById(
@@ -196,15 +181,7 @@ public class TaskController {
             Authentication authentication
     ) {
         User currentUser = getCurrentUser(authentication);
-
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Task not found"
-                ));
-
-        ensureProjectBelongsToUser(task.getProject(), currentUser);
-
-        return ResponseEntity.ok(toResponse(task));
+        return ResponseEntity.ok(taskService.getTask(id, currentUser));
     }
 
     @PutMapping("/tasks/{id}")
@@ -214,35 +191,103 @@ public class TaskController {
             Authentication authentication
     ) {
         User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.updateTask(id, request, currentUser));
+    }
 
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Task not found"
-                ));
+    // ✅ move a card between columns: compare-and-set on the status, no entity load
+    @PutMapping("/tasks/{id}/status")
+    public ResponseEntity<TaskStatusResponse> changeStatus(
+            @PathVariable Long id,
+            @Valid @RequestBody TaskStatusRequest request,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.changeStatus(id, request, currentUser));
+    }
 
-        ensureProjectBelongsToUser(task.getProject(), currentUser);
+    // ✅ manual reorder: only the moved row is written
+    @PostMapping("/tasks/{id}/move")
+    public ResponseEntity<TaskResponse> moveTask(
+            @PathVariable Long id,
+            @RequestBody MoveTaskRequest request,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.moveTask(id, request, currentUser));
+    }
 
-        applyRequestToTask(request, task);
-        Task updated = taskRepository.save(task);
+    // ✅ "everything under this epic" + rolled-up completion, one range query
+    @GetMapping("/tasks/{id}/subtree")
+    public ResponseEntity<SubtreeResponse> getSubtree(
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.getSubtree(id, currentUser));
+    }
 
-        return ResponseEntity.ok(toResponse(updated));
+    // ✅ move a task with all its subtasks: one set-based path rewrite
+    @PutMapping("/tasks/{id}/parent")
+    public ResponseEntity<TaskResponse> reparentTask(
+            @PathVariable Long id,
+            @RequestBody ReparentTaskRequest request,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.reparentTask(id, request.getParentId(), currentUser));
     }
 
-    @DeleteMapping("/tasks/{id}")
-    public ResponseEntity<Void> deleteTask(
+    // ✅ dependencies: {blockerId} has to be DONE before {id}
+    @PostMapping("/tasks/{id}/blockers")
+    public ResponseEntity<Void> addBlocker(
             @PathVariable Long id,
+            @Valid @RequestBody AddBlockerRequest request,
             Authentication authentication
     ) {
         User currentUser = getCurrentUser(authentication);
+        taskService.addBlocker(id, request.getBlockerId(), currentUser);
+        return ResponseEntity.noContent().build();
+    }
 
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Task not found"
-                ));
+    @DeleteMapping("/tasks/{id}/blockers/{blockerId}")
+    public ResponseEntity<Void> removeBlocker(
+            @PathVariable Long id,
+            @PathVariable Long blockerId,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        taskService.removeBlocker(id, blockerId, currentUser);
+        return ResponseEntity.noContent().build();
+    }
 
-        ensureProjectBelongsToUser(task.getProject(), currentUser);
+    // ✅ topological order, critical path and unblocked tasks from the cached graph
+    @GetMapping("/projects/{projectId}/dependencies")
+    public ResponseEntity<DependencyGraphResponse> getDependencyGraph(
+            @PathVariable Long projectId,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.getDependencyGraph(projectId, currentUser));
+    }
 
-        taskRepository.delete(task);
+    // ✅ soft delete with a tombstone; subtasks move up to the deleted task's parent
+    @DeleteMapping("/tasks/{id}")
+    public ResponseEntity<Void> deleteTask(
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        taskService.deleteTask(id, currentUser);
         return ResponseEntity.noContent().build();
     }
+
+    // ✅ undo a delete within the retention period; the task comes back as a root task
+    @PostMapping("/tasks/{id}/restore")
+    public ResponseEntity<TaskResponse> restoreTask(
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(taskService.restoreTask(id, currentUser));
+    }
 }
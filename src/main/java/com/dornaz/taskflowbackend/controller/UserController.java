@@ -1,43 +1,42 @@
 package com.dornaz.taskflowbackend.controller;
 
 import com.dornaz.taskflowbackend.dto.auth.CreateUserRequest;
-import com.dornaz.taskflowbackend.model.User;
+import com.dornaz.taskflowbackend.dto.user.BulkCreateUsersRequest;
+import com.dornaz.taskflowbackend.dto.user.BulkCreateUsersResponse;
 import com.dornaz.taskflowbackend.model.UserRole;
-import com.dornaz.taskflowbackend.repository.UserRepository;
+import com.dornaz.taskflowbackend.service.UserService;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserService userService;
 
-    public UserController(UserRepository userRepository,
-                          PasswordEncoder passwordEncoder) {
-        this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+    public UserController(UserService userService) {
+        this.userService = userService;
     }
 
     @PostMapping
-    public ResponseEntity<Void> createUser(@RequestBody CreateUserRequest request) {
-
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already used");
-        }
+    public CompletableFuture<ResponseEntity<Void>> createUser(@RequestBody CreateUserRequest request) {
 
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
-        user.setRole(UserRole.USER);
-
-        userRepository.save(user);
+        return userService.createUser(request, UserRole.USER).thenApply(created -> {
+            created.orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already used"));
+            return ResponseEntity.status(HttpStatus.CREATED).<Void>build();
+        });
+    }
 
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+    // ✅ admin-only bulk provisioning (batched inserts, hashing on the bulk pool)
+    @PostMapping("/bulk")
+    public CompletableFuture<ResponseEntity<BulkCreateUsersResponse>> createUsers(
+            @Valid @RequestBody BulkCreateUsersRequest request) {
+        return userService.createUsers(request.getUsers(), UserRole.USER)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 }
@@ -0,0 +1,32 @@
+package com.dornaz.taskflowbackend.dto.common;
+
+import java.util.List;
+
+public class CursorPagedResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private String nextCursor; // null when last == true
+    private boolean last;
+
+    public CursorPagedResponse() {}
+
+    public CursorPagedResponse(List<T> content, int size, String nextCursor, boolean last) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.last = last;
+    }
+
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isLast() { return last; }
+    public void setLast(boolean last) { this.last = last; }
+}
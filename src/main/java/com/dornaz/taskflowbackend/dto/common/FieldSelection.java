@@ -0,0 +1,57 @@
+package com.dornaz.taskflowbackend.dto.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsed {@code fields=} parameter (sparse fieldsets). {@code id} is always
+ * included; the order of {@code allowed} is the order of keys in the JSON.
+ */
+public final class FieldSelection {
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /** Returns null when the parameter is absent, i.e. full responses. */
+    public static FieldSelection parse(String param, List<String> allowed) {
+        if (param == null || param.isBlank()) {
+            return null;
+        }
+
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : param.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) continue;
+            if (!allowed.contains(name)) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "Invalid field: " + name + ". Allowed: " + String.join(", ", allowed)
+                );
+            }
+            requested.add(name);
+        }
+        requested.add("id");
+
+        Set<String> ordered = new LinkedHashSet<>();
+        for (String name : allowed) {
+            if (requested.contains(name)) ordered.add(name);
+        }
+        return new FieldSelection(ordered);
+    }
+
+    public boolean contains(String field) {
+        return fields.contains(field);
+    }
+
+    /** The selected fields that are also in {@code candidates}, in output order. */
+    public List<String> intersect(Set<String> candidates) {
+        return fields.stream().filter(candidates::contains).toList();
+    }
+}
@@ -0,0 +1,44 @@
+package com.dornaz.taskflowbackend.dto.project;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class ProjectAnalyticsResponse {
+
+    private Long projectId;
+    private LocalDate from;
+    private LocalDate to;
+    private int completedTotal;
+    private Double avgCycleTimeHours;
+    private List<ProjectDailyStatsResponse> days; // one entry per day in [from, to], zeros included
+
+    public ProjectAnalyticsResponse() {}
+
+    public ProjectAnalyticsResponse(Long projectId, LocalDate from, LocalDate to, int completedTotal,
+                                    Double avgCycleTimeHours, List<ProjectDailyStatsResponse> days) {
+        this.projectId = projectId;
+        this.from = from;
+        this.to = to;
+        this.completedTotal = completedTotal;
+        this.avgCycleTimeHours = avgCycleTimeHours;
+        this.days = days;
+    }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public int getCompletedTotal() { return completedTotal; }
+    public void setCompletedTotal(int completedTotal) { this.completedTotal = completedTotal; }
+
+    public Double getAvgCycleTimeHours() { return avgCycleTimeHours; }
+    public void setAvgCycleTimeHours(Double avgCycleTimeHours) { this.avgCycleTimeHours = avgCycleTimeHours; }
+
+    public List<ProjectDailyStatsResponse> getDays() { return days; }
+    public void setDays(List<ProjectDailyStatsResponse> days) { this.days = days; }
+}
@@ -0,0 +1,43 @@
+package com.dornaz.taskflowbackend.dto.project;
+
+import java.time.LocalDate;
+
+public class ProjectDailyStatsResponse {
+
+    private LocalDate date;
+    private int created;
+    private int completed;          // throughput
+    private int reopened;
+    private long openAtEndOfDay;    // burndown
+    private Double avgCycleTimeHours; // null when nothing was completed that day
+
+    public ProjectDailyStatsResponse() {}
+
+    public ProjectDailyStatsResponse(LocalDate date, int created, int completed, int reopened,
+                                     long openAtEndOfDay, Double avgCycleTimeHours) {
+        this.date = date;
+        this.created = created;
+        this.completed = completed;
+        this.reopened = reopened;
+        this.openAtEndOfDay = openAtEndOfDay;
+        this.avgCycleTimeHours = avgCycleTimeHours;
+    }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getCompleted() { return completed; }
+    public void setCompleted(int completed) { this.completed = completed; }
+
+    public int getReopened() { return reopened; }
+    public void setReopened(int reopened) { this.reopened = reopened; }
+
+    public long getOpenAtEndOfDay() { return openAtEndOfDay; }
+    public void setOpenAtEndOfDay(long openAtEndOfDay) { this.openAtEndOfDay = openAtEndOfDay; }
+
+    public Double getAvgCycleTimeHours() { return avgCycleTimeHours; }
+    public void setAvgCycleTimeHours(Double avgCycleTimeHours) { this.avgCycleTimeHours = avgCycleTimeHours; }
+}
@@ -0,0 +1,28 @@
+package com.dornaz.taskflowbackend.dto.project;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class ProjectMemberRequest {
+
+    @NotBlank(message = "email is required")
+    private String email;
+
+    @NotBlank(message = "role is required")
+    private String role;         // "VIEWER", "EDITOR" or "ADMIN"
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+}
@@ -0,0 +1,30 @@
+package com.dornaz.taskflowbackend.dto.project;
+
+public class ProjectMemberResponse {
+
+    private Long userId;
+    private String username;
+    private String email;
+    private String role;
+
+    public ProjectMemberResponse() {}
+
+    public ProjectMemberResponse(Long userId, String username, String email, String role) {
+        this.userId = userId;
+        this.username = username;
+        this.email = email;
+        this.role = role;
+    }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+}
@@ -13,6 +13,9 @@ public class ProjectRequest {
     @NotBlank(message = "Status is required")
     private String status;       // e.g. "OPEN", "IN_PROGRESS", "DONE"
 
+    // optional on update: the version the client last read; a newer one answers 409 instead of overwriting it
+    private Long version;
+
     public ProjectRequest() {
     }
 
@@ -47,4 +50,12 @@ public class ProjectRequest {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -17,6 +17,8 @@ public class ProjectResponse {
     private Instant createdAt;
     private Instant updatedAt;
 
+    private Long version; // send back on PUT to detect concurrent edits
+
     public ProjectResponse() {
     }
 
@@ -91,4 +93,12 @@ public class ProjectResponse {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,18 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+import jakarta.validation.constraints.NotNull;
+
+public class AddBlockerRequest {
+
+    // task (same project) that has to be DONE first
+    @NotNull(message = "blockerId is required")
+    private Long blockerId;
+
+    public Long getBlockerId() {
+        return blockerId;
+    }
+
+    public void setBlockerId(Long blockerId) {
+        this.blockerId = blockerId;
+    }
+}
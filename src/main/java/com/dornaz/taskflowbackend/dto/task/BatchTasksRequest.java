@@ -0,0 +1,17 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchTasksRequest {
+
+    @NotEmpty(message = "Ids are required")
+    @Size(max = 200, message = "At most 200 ids per request")
+    private List<@NotNull Long> ids;
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+}
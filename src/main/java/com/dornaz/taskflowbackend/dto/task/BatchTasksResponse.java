@@ -0,0 +1,27 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+import java.util.List;
+
+public class BatchTasksResponse {
+
+    private List<TaskResponse> tasks;  // in request order
+    private List<Long> missingIds;     // no such task
+    private List<Long> forbiddenIds;   // exists, but in someone else's project
+
+    public BatchTasksResponse() {}
+
+    public BatchTasksResponse(List<TaskResponse> tasks, List<Long> missingIds, List<Long> forbiddenIds) {
+        this.tasks = tasks;
+        this.missingIds = missingIds;
+        this.forbiddenIds = forbiddenIds;
+    }
+
+    public List<TaskResponse> getTasks() { return tasks; }
+    public void setTasks(List<TaskResponse> tasks) { this.tasks = tasks; }
+
+    public List<Long> getMissingIds() { return missingIds; }
+    public void setMissingIds(List<Long> missingIds) { this.missingIds = missingIds; }
+
+    public List<Long> getForbiddenIds() { return forbiddenIds; }
+    public void setForbiddenIds(List<Long> forbiddenIds) { this.forbiddenIds = forbiddenIds; }
+}
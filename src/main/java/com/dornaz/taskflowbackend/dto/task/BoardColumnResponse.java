@@ -0,0 +1,32 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+import java.util.List;
+
+public class BoardColumnResponse {
+
+    private String status;
+    private long count;        // all tasks in the column, not just this page
+    private List<TaskResponse> tasks;
+    private String nextCursor; // null when the column is fully loaded
+
+    public BoardColumnResponse() {}
+
+    public BoardColumnResponse(String status, long count, List<TaskResponse> tasks, String nextCursor) {
+        this.status = status;
+        this.count = count;
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+    }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public List<TaskResponse> getTasks() { return tasks; }
+    public void setTasks(List<TaskResponse> tasks) { this.tasks = tasks; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
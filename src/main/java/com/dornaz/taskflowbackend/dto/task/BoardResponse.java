@@ -0,0 +1,22 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+import java.util.List;
+
+public class BoardResponse {
+
+    private Long projectId;
+    private List<BoardColumnResponse> columns;
+
+    public BoardResponse() {}
+
+    public BoardResponse(Long projectId, List<BoardColumnResponse> columns) {
+        this.projectId = projectId;
+        this.columns = columns;
+    }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public List<BoardColumnResponse> getColumns() { return columns; }
+    public void setColumns(List<BoardColumnResponse> columns) { this.columns = columns; }
+}
@@ -0,0 +1,54 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+import java.util.List;
+
+public class DependencyGraphResponse {
+
+    private Long projectId;
+    private int taskCount;
+    private int dependencyCount;
+    private boolean hasCycle;                       // only possible with legacy data; cyclic tasks are left out below
+    private List<Long> topologicalOrder;            // task ids, blockers before what they block
+    private List<DependencyNodeResponse> criticalPath;
+    private Long criticalPathSlackDays;             // < 0: already late; null: no due date constrains it
+    private List<DependencyNodeResponse> unblocked; // open tasks whose blockers are all DONE
+
+    public DependencyGraphResponse() {}
+
+    public DependencyGraphResponse(Long projectId, int taskCount, int dependencyCount, boolean hasCycle,
+                                   List<Long> topologicalOrder, List<DependencyNodeResponse> criticalPath,
+                                   Long criticalPathSlackDays, List<DependencyNodeResponse> unblocked) {
+        this.projectId = projectId;
+        this.taskCount = taskCount;
+        this.dependencyCount = dependencyCount;
+        this.hasCycle = hasCycle;
+        this.topologicalOrder = topologicalOrder;
+        this.criticalPath = criticalPath;
+        this.criticalPathSlackDays = criticalPathSlackDays;
+        this.unblocked = unblocked;
+    }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public int getTaskCount() { return taskCount; }
+    public void setTaskCount(int taskCount) { this.taskCount = taskCount; }
+
+    public int getDependencyCount() { return dependencyCount; }
+    public void setDependencyCount(int dependencyCount) { this.dependencyCount = dependencyCount; }
+
+    public boolean isHasCycle() { return hasCycle; }
+    public void setHasCycle(boolean hasCycle) { this.hasCycle = hasCycle; }
+
+    public List<Long> getTopologicalOrder() { return topologicalOrder; }
+    public void setTopologicalOrder(List<Long> topologicalOrder) { this.topologicalOrder = topologicalOrder; }
+
+    public List<DependencyNodeResponse> getCriticalPath() { return criticalPath; }
+    public void setCriticalPath(List<DependencyNodeResponse> criticalPath) { this.criticalPath = criticalPath; }
+
+    public Long getCriticalPathSlackDays() { return criticalPathSlackDays; }
+    public void setCriticalPathSlackDays(Long criticalPathSlackDays) { this.criticalPathSlackDays = criticalPathSlackDays; }
+
+    public List<DependencyNodeResponse> getUnblocked() { return unblocked; }
+    public void setUnblocked(List<DependencyNodeResponse> unblocked) { this.unblocked = unblocked; }
+}
@@ -0,0 +1,32 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+import java.time.LocalDate;
+
+public class DependencyNodeResponse {
+
+    private Long id;
+    private String title;
+    private boolean done;
+    private LocalDate dueDate;
+
+    public DependencyNodeResponse() {}
+
+    public DependencyNodeResponse(Long id, String title, boolean done, LocalDate dueDate) {
+        this.id = id;
+        this.title = title;
+        this.done = done;
+        this.dueDate = dueDate;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public boolean isDone() { return done; }
+    public void setDone(boolean done) { this.done = done; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+}
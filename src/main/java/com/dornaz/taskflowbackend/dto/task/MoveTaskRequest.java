@@ -0,0 +1,24 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+public class MoveTaskRequest {
+
+    // exactly one of these: place the task right before / right after that neighbour
+    private Long beforeId;
+    private Long afterId;
+
+    public Long getBeforeId() {
+        return beforeId;
+    }
+
+    public void setBeforeId(Long beforeId) {
+        this.beforeId = beforeId;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public void setAfterId(Long afterId) {
+        this.afterId = afterId;
+    }
+}
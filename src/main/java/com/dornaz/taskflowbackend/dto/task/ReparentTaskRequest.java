@@ -0,0 +1,15 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+public class ReparentTaskRequest {
+
+    // new parent in the same project; null makes the task top-level again
+    private Long parentId;
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+}
@@ -0,0 +1,37 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+import java.util.List;
+
+public class SubtreeResponse {
+
+    private Long rootId;
+    private int total;              // the root and everything under it
+    private int done;
+    private double completionPercent;
+    private List<TaskResponse> tasks; // depth-first, root first
+
+    public SubtreeResponse() {}
+
+    public SubtreeResponse(Long rootId, int total, int done, double completionPercent, List<TaskResponse> tasks) {
+        this.rootId = rootId;
+        this.total = total;
+        this.done = done;
+        this.completionPercent = completionPercent;
+        this.tasks = tasks;
+    }
+
+    public Long getRootId() { return rootId; }
+    public void setRootId(Long rootId) { this.rootId = rootId; }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public int getDone() { return done; }
+    public void setDone(int done) { this.done = done; }
+
+    public double getCompletionPercent() { return completionPercent; }
+    public void setCompletionPercent(double completionPercent) { this.completionPercent = completionPercent; }
+
+    public List<TaskResponse> getTasks() { return tasks; }
+    public void setTasks(List<TaskResponse> tasks) { this.tasks = tasks; }
+}
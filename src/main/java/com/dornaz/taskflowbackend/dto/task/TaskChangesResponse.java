@@ -0,0 +1,32 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+import java.util.List;
+
+public class TaskChangesResponse {
+
+    private List<TaskResponse> changed;
+    private List<Long> deletedIds;
+    private String nextToken;  // pass back as ?since= on the next call
+    private boolean hasMore;   // true -> call again right away with nextToken
+
+    public TaskChangesResponse() {}
+
+    public TaskChangesResponse(List<TaskResponse> changed, List<Long> deletedIds, String nextToken, boolean hasMore) {
+        this.changed = changed;
+        this.deletedIds = deletedIds;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+
+    public List<TaskResponse> getChanged() { return changed; }
+    public void setChanged(List<TaskResponse> changed) { this.changed = changed; }
+
+    public List<Long> getDeletedIds() { return deletedIds; }
+    public void setDeletedIds(List<Long> deletedIds) { this.deletedIds = deletedIds; }
+
+    public String getNextToken() { return nextToken; }
+    public void setNextToken(String nextToken) { this.nextToken = nextToken; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -19,6 +19,12 @@ public class TaskRequest {
     @Max(value = 3, message = "Priority must be between 1 and 3")
     private Integer priority;
 
+    // only read on create: makes the new task a subtask (same project); moves go through PUT /tasks/{id}/parent
+    private Long parentId;
+
+    // optional on update: the version the client last read; a newer one answers 409 instead of overwriting it
+    private Long version;
+
     // getters & setters
 
     public String getTitle() {
@@ -60,4 +66,20 @@ public class TaskRequest {
     public void setPriority(Integer priority) {
         this.priority = priority;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
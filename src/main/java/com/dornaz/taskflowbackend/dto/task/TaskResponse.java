@@ -11,6 +11,8 @@ public class TaskResponse {
     private String status;
     private LocalDate dueDate;
     private Integer priority;
+    private String rank;
+    private Long parentId; // null for top-level tasks
 
     private Long projectId;
     private String projectName;
@@ -18,6 +20,10 @@ public class TaskResponse {
     private Instant createdAt;
     private Instant updatedAt;
 
+    private boolean archived; // only ever true with includeArchived=true
+
+    private Long version; // send back on PUT to detect concurrent edits; null for archived rows
+
     // getters & setters
 
     public Long getId() {
@@ -68,6 +74,22 @@ public class TaskResponse {
         this.priority = priority;
     }
 
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
     public Long getProjectId() {
         return projectId;
     }
@@ -99,4 +121,20 @@ public class TaskResponse {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,28 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class TaskStatusRequest {
+
+    @NotBlank(message = "Status is required")
+    private String status; // TODO, IN_PROGRESS, DONE
+
+    // optional: only move the card if it is still in this column (409 otherwise)
+    private String expectedStatus;
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    public void setExpectedStatus(String expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+}
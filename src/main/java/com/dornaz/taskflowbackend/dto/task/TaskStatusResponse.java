@@ -0,0 +1,52 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+import java.time.Instant;
+
+public class TaskStatusResponse {
+
+    private Long id;
+    private String status;
+    private Long version;
+    private Instant updatedAt;
+
+    public TaskStatusResponse() {}
+
+    public TaskStatusResponse(Long id, String status, Long version, Instant updatedAt) {
+        this.id = id;
+        this.status = status;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
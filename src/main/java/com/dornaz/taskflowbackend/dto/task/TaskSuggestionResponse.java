@@ -0,0 +1,36 @@
+package com.dornaz.taskflowbackend.dto.task;
+
+// one type-ahead hit: just enough to render and jump to the task
+public class TaskSuggestionResponse {
+
+    private Long id;
+    private String title;
+    private String status;
+    private Long projectId;
+    private String projectName;
+
+    public TaskSuggestionResponse() {}
+
+    public TaskSuggestionResponse(Long id, String title, String status, Long projectId, String projectName) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+        this.projectId = projectId;
+        this.projectName = projectName;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public String getProjectName() { return projectName; }
+    public void setProjectName(String projectName) { this.projectName = projectName; }
+}
@@ -0,0 +1,18 @@
+package com.dornaz.taskflowbackend.dto.user;
+
+import com.dornaz.taskflowbackend.dto.auth.CreateUserRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkCreateUsersRequest {
+
+    @NotEmpty(message = "Users are required")
+    @Size(max = 5000, message = "At most 5000 users per request")
+    private List<@Valid CreateUserRequest> users;
+
+    public List<CreateUserRequest> getUsers() { return users; }
+    public void setUsers(List<CreateUserRequest> users) { this.users = users; }
+}
@@ -0,0 +1,22 @@
+package com.dornaz.taskflowbackend.dto.user;
+
+import java.util.List;
+
+public class BulkCreateUsersResponse {
+
+    private int created;
+    private List<String> skippedEmails; // already registered (or repeated in the request)
+
+    public BulkCreateUsersResponse() {}
+
+    public BulkCreateUsersResponse(int created, List<String> skippedEmails) {
+        this.created = created;
+        this.skippedEmails = skippedEmails;
+    }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public List<String> getSkippedEmails() { return skippedEmails; }
+    public void setSkippedEmails(List<String> skippedEmails) { this.skippedEmails = skippedEmails; }
+}
@@ -0,0 +1,87 @@
+package com.dornaz.taskflowbackend.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Cold copy of a long-DONE task. Rows are moved here in batches by
+ * TaskArchiver (set-based SQL), keeping the original id, so this entity is
+ * mainly the schema definition for {@code tasks_archive}.
+ */
+@Entity
+@Table(
+        name = "tasks_archive",
+        indexes = @Index(name = "idx_tasks_archive_project_id", columnList = "project_id")
+)
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "text")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    private Integer priority;
+
+    @Column(name = "rank", columnDefinition = "varchar(64) collate \"C\"")
+    private String rank;
+
+    // plain column: archived rows are removed explicitly when their project is deleted
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    private Instant createdAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    // -------- getters & setters --------
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public TaskStatus getStatus() { return status; }
+    public void setStatus(TaskStatus status) { this.status = status; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+
+    public String getRank() { return rank; }
+    public void setRank(String rank) { this.rank = rank; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public Instant getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(Instant archivedAt) { this.archivedAt = archivedAt; }
+}
@@ -0,0 +1,75 @@
+package com.dornaz.taskflowbackend.model;
+
+import com.dornaz.taskflowbackend.audit.AuditAction;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Row of the audit trail. Written in batches by
+ * {@link com.dornaz.taskflowbackend.audit.AuditLog} (plain JDBC); mapped here
+ * so the table is created and can be queried.
+ */
+@Entity
+@Table(
+        name = "audit_log",
+        indexes = {
+                @Index(name = "idx_audit_log_entity", columnList = "entity_type, entity_id, occurred_at"),
+                @Index(name = "idx_audit_log_project_occurred_at", columnList = "project_id, occurred_at")
+        }
+)
+public class AuditLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private String entityType;
+
+    // plain columns (no FK) so the trail outlives what it describes
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AuditAction action;
+
+    @Column(length = 32)
+    private String status;
+
+    @Column(nullable = false)
+    private String actor;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    // -------- getters & setters --------
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getEntityType() { return entityType; }
+    public void setEntityType(String entityType) { this.entityType = entityType; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public AuditAction getAction() { return action; }
+    public void setAction(AuditAction action) { this.action = action; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getActor() { return actor; }
+    public void setActor(String actor) { this.actor = actor; }
+
+    public Instant getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(Instant occurredAt) { this.occurredAt = occurredAt; }
+}
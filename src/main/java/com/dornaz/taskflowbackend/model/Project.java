@@ -1,13 +1,20 @@
 package com.dornaz.taskflowbackend.model;
 
+import com.dornaz.taskflowbackend.audit.AuditEntityListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "projects")
+@Table(
+        name = "projects"
+        // owner index is partial, live rows only: see schema.sql
+)
+@EntityListeners(AuditEntityListener.class) // audit trail, see AuditLog
+@SQLRestriction("deleted_at is null") // soft-deleted rows are invisible to every entity query
 public class Project {
 
     @Id
@@ -32,6 +39,15 @@ public class Project {
     private Instant createdAt;
     private Instant updatedAt;
 
+    // soft delete: tasks and members stay until SoftDeletePurger removes the whole project
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
+    // optimistic locking: stale entity writes fail instead of overwriting (409)
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     // ------------- RELATIONSHIP WITH TASKS -------------
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Task> tasks = new ArrayList<>();
@@ -116,6 +132,18 @@ public class Project {
         this.updatedAt = updatedAt;
     }
 
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
     // ---------- TASK COLLECTION ----------
 
     public List<Task> getTasks() {
@@ -0,0 +1,90 @@
+package com.dornaz.taskflowbackend.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Per project and UTC day counters, bumped in the same transaction as each
+ * {@link TaskStatusTransition}. Charts read these rows, never the tasks.
+ * Open tasks at the end of a day = running sum of
+ * {@code created - completed + reopened - removedOpen}.
+ */
+@Entity
+@Table(name = "project_daily_stats")
+@IdClass(ProjectDailyStats.Key.class)
+public class ProjectDailyStats {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Column(name = "created_count", nullable = false)
+    private int createdCount;
+
+    // moved into DONE (throughput)
+    @Column(name = "completed_count", nullable = false)
+    private int completedCount;
+
+    // moved out of DONE
+    @Column(name = "reopened_count", nullable = false)
+    private int reopenedCount;
+
+    // deleted while not DONE
+    @Column(name = "removed_open_count", nullable = false)
+    private int removedOpenCount;
+
+    // cycle time (first IN_PROGRESS, else creation -> DONE) of tasks completed that day
+    @Column(name = "cycle_time_count", nullable = false)
+    private int cycleTimeCount;
+
+    @Column(name = "cycle_time_seconds", nullable = false)
+    private long cycleTimeSeconds;
+
+    // -------- getters --------
+
+    public Long getProjectId() { return projectId; }
+    public LocalDate getStatDate() { return statDate; }
+    public int getCreatedCount() { return createdCount; }
+    public int getCompletedCount() { return completedCount; }
+    public int getReopenedCount() { return reopenedCount; }
+    public int getRemovedOpenCount() { return removedOpenCount; }
+    public int getCycleTimeCount() { return cycleTimeCount; }
+    public long getCycleTimeSeconds() { return cycleTimeSeconds; }
+
+    public int getOpenDelta() {
+        return createdCount - completedCount + reopenedCount - removedOpenCount;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long projectId;
+        private LocalDate statDate;
+
+        public Key() {
+        }
+
+        public Key(Long projectId, LocalDate statDate) {
+            this.projectId = projectId;
+            this.statDate = statDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(projectId, other.projectId) && Objects.equals(statDate, other.statDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectId, statDate);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.dornaz.taskflowbackend.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A collaborator on someone else's project. The owner has no row here:
+ * ownership implies {@link ProjectRole#OWNER}.
+ */
+@Entity
+@Table(
+        name = "project_members",
+        uniqueConstraints = @UniqueConstraint(name = "ux_project_members_project_user", columnNames = {"project_id", "user_id"}),
+        indexes = @Index(name = "idx_project_members_user_id", columnList = "user_id")
+)
+public class ProjectMember {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProjectRole role;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        if (createdAt == null) createdAt = Instant.now();
+    }
+
+    // -------- getters & setters --------
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Project getProject() { return project; }
+    public void setProject(Project project) { this.project = project; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public ProjectRole getRole() { return role; }
+    public void setRole(ProjectRole role) { this.role = role; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
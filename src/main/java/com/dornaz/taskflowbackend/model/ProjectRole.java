@@ -0,0 +1,13 @@
+package com.dornaz.taskflowbackend.model;
+
+// ordered: each role can do everything the ones before it can
+public enum ProjectRole {
+    VIEWER,  // read tasks and project
+    EDITOR,  // + create / change / delete tasks
+    ADMIN,   // + edit the project and its members
+    OWNER;   // + delete the project; implied by Project.owner, never stored as a membership
+
+    public boolean includes(ProjectRole required) {
+        return compareTo(required) >= 0;
+    }
+}
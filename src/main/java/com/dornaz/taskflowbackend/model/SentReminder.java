@@ -0,0 +1,41 @@
+package com.dornaz.taskflowbackend.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A reminder that has been sent for a task's due date. This is the
+ * reminder engine's persisted state: after a restart, candidates already
+ * listed here are not sent again, and a new due date means a new reminder.
+ */
+@Entity
+@Table(
+        name = "task_reminders_sent",
+        uniqueConstraints = @UniqueConstraint(name = "ux_task_reminders_sent_task_due", columnNames = {"task_id", "due_date"}),
+        indexes = @Index(name = "idx_task_reminders_sent_due_date", columnList = "due_date")
+)
+public class SentReminder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // plain column (no FK): outlives task deletes until purged
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(name = "sent_at", nullable = false)
+    private Instant sentAt;
+
+    // -------- getters --------
+
+    public Long getId() { return id; }
+    public Long getTaskId() { return taskId; }
+    public LocalDate getDueDate() { return dueDate; }
+    public Instant getSentAt() { return sentAt; }
+}
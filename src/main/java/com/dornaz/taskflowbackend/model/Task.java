@@ -1,12 +1,27 @@
 package com.dornaz.taskflowbackend.model;
 
+import com.dornaz.taskflowbackend.audit.AuditEntityListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "tasks")
+@Table(
+        name = "tasks"
+        // (project_id, ...) indexes are partial, live rows only: see schema.sql
+)
+@SqlResultSetMapping(
+        name = "Task.boardRow",
+        entities = @EntityResult(entityClass = Task.class),
+        columns = @ColumnResult(name = "column_count", type = Long.class)
+)
+@EntityListeners(AuditEntityListener.class) // audit trail, see AuditLog
+@SQLRestriction("deleted_at is null") // soft-deleted rows are invisible to every entity query
+@DynamicUpdate // updates write only changed columns, so an edit never puts back a stale rank
 public class Task {
 
     @Id
@@ -23,19 +38,48 @@ public class Task {
     @Column(nullable = false)
     private TaskStatus status = TaskStatus.TODO;
 
+    @Column(name = "due_date")
     private LocalDate dueDate;
 
     // ✅ optional in DB now; default if not provided
     @Column(columnDefinition = "integer default 2")
     private Integer priority = 2;
 
+    // manual (Kanban) order inside the project, see TaskRanks; "C" collation = plain byte order
+    // rank respacing (TaskRankRebalancer) must not turn every open editor's next save into a 409
+    @OptimisticLock(excluded = true)
+    @Column(name = "rank", columnDefinition = "varchar(64) collate \"C\"")
+    private String rank;
+
+    // subtasks: plain column (no FK) so archiving a DONE parent never trips over its children
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // materialized path of ids "/root/.../this/"; a subtree is one prefix range on (project_id, path)
+    @Column(name = "path", columnDefinition = "varchar(1024) collate \"C\"")
+    private String path;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
     private Instant createdAt;
+
+    // ✅ indexed with project_id: delta sync scans (project, updatedAt > token)
+    @OptimisticLock(excluded = true) // stamped on every write, rank-only ones included
+    @Column(name = "updated_at")
     private Instant updatedAt;
 
+    // soft delete: set by DELETE /tasks/{id}, hard-deleted by SoftDeletePurger after the retention period
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
+    // optimistic locking: stale entity writes fail instead of overwriting (409);
+    // native updates of user-visible fields bump it by hand
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     @PrePersist
     public void onCreate() {
         Instant now = Instant.now();
@@ -74,6 +118,15 @@ public class Task {
     public Integer getPriority() { return priority; }
     public void setPriority(Integer priority) { this.priority = priority; }
 
+    public String getRank() { return rank; }
+    public void setRank(String rank) { this.rank = rank; }
+
+    public Long getParentId() { return parentId; }
+    public void setParentId(Long parentId) { this.parentId = parentId; }
+
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
     public Project getProject() { return project; }
     public void setProject(Project project) { this.project = project; }
 
@@ -82,4 +135,9 @@ public class Task {
 
     public Instant getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public Instant getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(Instant deletedAt) { this.deletedAt = deletedAt; }
+
+    public Long getVersion() { return version; }
 }
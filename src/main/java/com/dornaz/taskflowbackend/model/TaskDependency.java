@@ -0,0 +1,61 @@
+package com.dornaz.taskflowbackend.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * "blocker blocks blocked": the blocked task can't really start until the
+ * blocker is DONE. Both tasks are in the same project; inserts are checked
+ * for cycles.
+ */
+@Entity
+@Table(
+        name = "task_dependencies",
+        uniqueConstraints = @UniqueConstraint(name = "ux_task_dependencies_edge", columnNames = {"blocker_task_id", "blocked_task_id"}),
+        indexes = {
+                @Index(name = "idx_task_dependencies_blocked", columnList = "blocked_task_id"),
+                @Index(name = "idx_task_dependencies_project", columnList = "project_id")
+        }
+)
+public class TaskDependency {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    // plain columns (no FK): a blocker that gets archived simply counts as DONE
+    @Column(name = "blocker_task_id", nullable = false)
+    private Long blockerTaskId;
+
+    @Column(name = "blocked_task_id", nullable = false)
+    private Long blockedTaskId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public TaskDependency() {
+    }
+
+    public TaskDependency(Long projectId, Long blockerTaskId, Long blockedTaskId) {
+        this.projectId = projectId;
+        this.blockerTaskId = blockerTaskId;
+        this.blockedTaskId = blockedTaskId;
+    }
+
+    @PrePersist
+    public void onCreate() {
+        if (createdAt == null) createdAt = Instant.now();
+    }
+
+    // -------- getters --------
+
+    public Long getId() { return id; }
+    public Long getProjectId() { return projectId; }
+    public Long getBlockerTaskId() { return blockerTaskId; }
+    public Long getBlockedTaskId() { return blockedTaskId; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,82 @@
+package com.dornaz.taskflowbackend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Read-only view over hot and archived tasks, used only when a list request
+ * opts in with includeArchived. Postgres pushes the project filter into both
+ * branches of the union, so each side still uses its project_id index.
+ */
+@Entity
+@Immutable
+@Subselect("""
+        select t.id, t.title, t.description, t.status, t.due_date, t.priority, t.rank,
+               t.project_id, t.created_at, t.updated_at, false as archived
+        from tasks t
+        where t.deleted_at is null
+        union all
+        select a.id, a.title, a.description, a.status, a.due_date, a.priority, a.rank,
+               a.project_id, a.created_at, a.updated_at, true as archived
+        from tasks_archive a
+        """)
+@Synchronize({"tasks", "tasks_archive"})
+public class TaskRecord {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    private Integer priority;
+
+    @Column(name = "rank")
+    private String rank;
+
+    @Column(name = "project_id")
+    private Long projectId;
+
+    private Instant createdAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    private boolean archived;
+
+    // -------- getters --------
+
+    public Long getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public String getDescription() { return description; }
+
+    public TaskStatus getStatus() { return status; }
+
+    public LocalDate getDueDate() { return dueDate; }
+
+    public Integer getPriority() { return priority; }
+
+    public String getRank() { return rank; }
+
+    public Long getProjectId() { return projectId; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+
+    public boolean isArchived() { return archived; }
+}
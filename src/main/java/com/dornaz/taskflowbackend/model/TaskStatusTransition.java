@@ -0,0 +1,74 @@
+package com.dornaz.taskflowbackend.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * One status change of a task. {@code fromStatus} is null when the task was
+ * created, {@code toStatus} is null when it was deleted. Feeds the daily
+ * rollups in {@link ProjectDailyStats}.
+ */
+@Entity
+@Table(
+        name = "task_status_transitions",
+        indexes = {
+                @Index(name = "idx_task_transitions_task_changed_at", columnList = "task_id, changed_at"),
+                @Index(name = "idx_task_transitions_project_changed_at", columnList = "project_id, changed_at")
+        }
+)
+public class TaskStatusTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // plain columns (no FK) so history survives deletes and archiving
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private TaskStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status")
+    private TaskStatus toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public TaskStatusTransition() {
+    }
+
+    public TaskStatusTransition(Long taskId, Long projectId, TaskStatus fromStatus, TaskStatus toStatus, Instant changedAt) {
+        this.taskId = taskId;
+        this.projectId = projectId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedAt = changedAt;
+    }
+
+    // -------- getters & setters --------
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getTaskId() { return taskId; }
+    public void setTaskId(Long taskId) { this.taskId = taskId; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public TaskStatus getFromStatus() { return fromStatus; }
+    public void setFromStatus(TaskStatus fromStatus) { this.fromStatus = fromStatus; }
+
+    public TaskStatus getToStatus() { return toStatus; }
+    public void setToStatus(TaskStatus toStatus) { this.toStatus = toStatus; }
+
+    public Instant getChangedAt() { return changedAt; }
+    public void setChangedAt(Instant changedAt) { this.changedAt = changedAt; }
+}
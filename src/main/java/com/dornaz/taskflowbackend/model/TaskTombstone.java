@@ -0,0 +1,58 @@
+package com.dornaz.taskflowbackend.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Marker left behind by a task delete (or archiving) so delta-sync clients
+ * can learn which ids disappeared since their last sync token.
+ */
+@Entity
+@Table(
+        name = "task_tombstones",
+        indexes = @Index(name = "idx_task_tombstones_project_deleted_at", columnList = "project_id, deleted_at")
+)
+public class TaskTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    // plain column (no FK) so the tombstone survives the task row
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    public TaskTombstone() {
+    }
+
+    public TaskTombstone(Long taskId, Long projectId) {
+        this.taskId = taskId;
+        this.projectId = projectId;
+    }
+
+    @PrePersist
+    public void onCreate() {
+        if (deletedAt == null) deletedAt = Instant.now();
+    }
+
+    // -------- getters & setters --------
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getTaskId() { return taskId; }
+    public void setTaskId(Long taskId) { this.taskId = taskId; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Instant getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(Instant deletedAt) { this.deletedAt = deletedAt; }
+}
@@ -0,0 +1,16 @@
+package com.dornaz.taskflowbackend.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// stand-in until a real delivery channel exists
+public class LoggingReminderSink implements ReminderSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+    @Override
+    public void send(ReminderEvent event) {
+        log.info("Reminder: task {} \"{}\" (project {}) is due {}",
+                event.taskId(), event.title(), event.projectId(), event.dueDate());
+    }
+}
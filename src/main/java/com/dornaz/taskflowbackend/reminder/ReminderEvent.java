@@ -0,0 +1,8 @@
+package com.dornaz.taskflowbackend.reminder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/** A task is coming due; handed to the {@link ReminderSink}. */
+public record ReminderEvent(Long taskId, Long projectId, String title, LocalDate dueDate, Instant remindAt) {
+}
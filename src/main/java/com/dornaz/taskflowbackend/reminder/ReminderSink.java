@@ -0,0 +1,11 @@
+package com.dornaz.taskflowbackend.reminder;
+
+/**
+ * Where due-date reminders go (email, push, a queue...). Declare a bean of
+ * this type to replace the {@link LoggingReminderSink} default. A sink that
+ * throws gets the reminder again on the next rescan.
+ */
+public interface ReminderSink {
+
+    void send(ReminderEvent event);
+}
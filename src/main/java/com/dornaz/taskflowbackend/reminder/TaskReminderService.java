@@ -0,0 +1,238 @@
+package com.dornaz.taskflowbackend.reminder;
+
+import com.dornaz.taskflowbackend.model.Task;
+import com.dornaz.taskflowbackend.model.TaskStatus;
+import com.dornaz.taskflowbackend.repository.SentReminderRepository;
+import com.dornaz.taskflowbackend.repository.TaskRepository;
+import com.dornaz.taskflowbackend.repository.TaskRepository.ReminderTarget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Due-date reminders. Only reminders due inside a short look-ahead window
+ * live in memory, in a {@link TimingWheel}; a periodic rescan of open tasks
+ * by due date (bounded to that window plus a catch-up period) refills it,
+ * and task writes reschedule their own timer after commit. When a timer
+ * fires the task is re-read, the reminder is claimed in
+ * {@code task_reminders_sent} (so restarts and other instances never send it
+ * twice) and handed to the {@link ReminderSink}.
+ *
+ * A reminder is due {@code reminders.lead-hours} before the start of the
+ * due date in {@code reminders.zone}.
+ */
+@Component
+public class TaskReminderService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskReminderService.class);
+
+    private static final int RESCAN_BATCH = 5000;
+    private static final int FIRE_BATCH = 1000;
+
+    // 1 s ticks, 64 slots, 4 levels: 2^24 s (~194 days) before timers get parked
+    private static final int WHEEL_SLOT_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final TaskRepository taskRepository;
+    private final SentReminderRepository sentReminderRepository;
+    private final ReminderSink sink;
+
+    private final boolean enabled;
+    private final ZoneId zone;
+    private final Duration lead;
+    private final Duration lookAhead;
+    private final Duration catchUp;
+
+    private final Object lock = new Object();
+    private final TimingWheel<Long> wheel;
+    private final Map<Long, TimingWheel.Timer<Long>> timersByTask = new HashMap<>();
+    private Instant horizon = Instant.EPOCH; // every reminder due before this is in the wheel
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public TaskReminderService(TaskRepository taskRepository,
+                               SentReminderRepository sentReminderRepository,
+                               ObjectProvider<ReminderSink> sinks,
+                               @Value("${reminders.enabled:true}") boolean enabled,
+                               @Value("${reminders.zone:UTC}") String zone,
+                               @Value("${reminders.lead-hours:24}") long leadHours,
+                               @Value("${reminders.tick-ms:1000}") long tickMillis,
+                               @Value("${reminders.look-ahead-minutes:60}") long lookAheadMinutes,
+                               @Value("${reminders.rescan-interval-ms:1800000}") long rescanIntervalMillis,
+                               @Value("${reminders.catch-up-hours:24}") long catchUpHours,
+                               MeterRegistry meterRegistry) {
+        if (rescanIntervalMillis >= Duration.ofMinutes(lookAheadMinutes).toMillis()) {
+            throw new IllegalArgumentException("reminders.rescan-interval-ms must be shorter than the look-ahead window");
+        }
+        this.taskRepository = taskRepository;
+        this.sentReminderRepository = sentReminderRepository;
+        this.sink = sinks.getIfAvailable(LoggingReminderSink::new);
+        this.enabled = enabled;
+        this.zone = ZoneId.of(zone);
+        this.lead = Duration.ofHours(leadHours);
+        this.lookAhead = Duration.ofMinutes(lookAheadMinutes);
+        this.catchUp = Duration.ofHours(catchUpHours);
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_SLOT_BITS, WHEEL_LEVELS, System.currentTimeMillis());
+
+        this.sentCounter = Counter.builder("taskflow.reminders.sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("taskflow.reminders.failed").register(meterRegistry);
+        meterRegistry.gauge("taskflow.reminders.pending", this, TaskReminderService::pending);
+    }
+
+    // ---------- task write hooks (applied after commit) ----------
+
+    public void onTaskSaved(Task task) {
+        onTaskSaved(task.getId(), task.getStatus(), task.getDueDate());
+    }
+
+    // for updates that never load the task (status compare-and-set)
+    public void onTaskSaved(Long taskId, TaskStatus status, LocalDate dueDate) {
+        if (!enabled) return;
+        LocalDate remindFor = status != TaskStatus.DONE ? dueDate : null;
+        afterCommit(() -> reschedule(taskId, remindFor));
+    }
+
+    public void onTaskDeleted(Long taskId) {
+        if (!enabled) return;
+        afterCommit(() -> reschedule(taskId, null));
+    }
+
+    // ---------- background ----------
+
+    /** Moves the wheel to now and sends what expired. */
+    @Scheduled(fixedDelayString = "${reminders.tick-ms:1000}")
+    public void tick() {
+        if (!enabled) return;
+
+        List<Long> expired = new ArrayList<>();
+        synchronized (lock) {
+            wheel.advanceTo(System.currentTimeMillis(), taskId -> {
+                timersByTask.remove(taskId);
+                expired.add(taskId);
+            });
+        }
+
+        for (int i = 0; i < expired.size(); i += FIRE_BATCH) {
+            fire(expired.subList(i, Math.min(i + FIRE_BATCH, expired.size())));
+        }
+    }
+
+    /**
+     * Loads reminders due in [now - catch-up, now + look-ahead) into the wheel.
+     * Runs at startup too, which is how pending and missed reminders come back after a restart.
+     */
+    @Scheduled(fixedDelayString = "${reminders.rescan-interval-ms:1800000}")
+    public void rescan() {
+        if (!enabled) return;
+
+        Instant now = Instant.now();
+        Instant newHorizon = now.plus(lookAhead);
+        synchronized (lock) {
+            horizon = newHorizon;
+        }
+
+        LocalDate fromDate = LocalDate.ofInstant(now.minus(catchUp).plus(lead), zone);
+        LocalDate toDate = LocalDate.ofInstant(newHorizon.plus(lead), zone);
+
+        long afterId = 0;
+        List<ReminderTarget> batch;
+        do {
+            batch = taskRepository.findReminderCandidates(fromDate, toDate, afterId, PageRequest.of(0, RESCAN_BATCH));
+            for (ReminderTarget target : batch) {
+                reschedule(target.getId(), target.getDueDate());
+                afterId = target.getId();
+            }
+        } while (batch.size() == RESCAN_BATCH);
+
+        // claims for due dates before the window can never be looked at again
+        sentReminderRepository.purgeDueBefore(fromDate);
+    }
+
+    // ---------- internals ----------
+
+    private void reschedule(Long taskId, LocalDate dueDate) {
+        Instant now = Instant.now();
+        synchronized (lock) {
+            TimingWheel.Timer<Long> previous = timersByTask.remove(taskId);
+            if (previous != null) {
+                wheel.cancel(previous);
+            }
+            if (dueDate == null) {
+                return;
+            }
+            Instant remindAt = remindAt(dueDate);
+            // outside the window: a later rescan picks it up, or it is too old to send
+            if (remindAt.isBefore(horizon) && !remindAt.isBefore(now.minus(catchUp))) {
+                timersByTask.put(taskId, wheel.schedule(taskId, remindAt.toEpochMilli()));
+            }
+        }
+    }
+
+    private void fire(List<Long> taskIds) {
+        Instant now = Instant.now();
+        for (ReminderTarget target : taskRepository.findReminderTargets(taskIds)) {
+            LocalDate dueDate = target.getDueDate();
+            if (target.getStatus() == TaskStatus.DONE || dueDate == null) {
+                continue;
+            }
+            Instant remindAt = remindAt(dueDate);
+            if (remindAt.isAfter(now)) {
+                reschedule(target.getId(), dueDate); // due date moved since the timer was set
+                continue;
+            }
+            if (sentReminderRepository.claim(target.getId(), dueDate, now).isEmpty()) {
+                continue;
+            }
+
+            try {
+                sink.send(new ReminderEvent(target.getId(), target.getProjectId(), target.getTitle(), dueDate, remindAt));
+                sentCounter.increment();
+            } catch (RuntimeException ex) {
+                failedCounter.increment();
+                log.warn("Reminder sink failed for task {}, will retry on the next rescan", target.getId(), ex);
+                sentReminderRepository.release(target.getId(), dueDate);
+            }
+        }
+    }
+
+    private Instant remindAt(LocalDate dueDate) {
+        return dueDate.atStartOfDay(zone).toInstant().minus(lead);
+    }
+
+    private int pending() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,172 @@
+package com.dornaz.taskflowbackend.reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: {@code levels} wheels of {@code 2^slotBits}
+ * slots, where a slot on level L spans {@code 2^(slotBits * L)} ticks.
+ * Scheduling and cancelling are O(1) (intrusive doubly linked buckets);
+ * {@link #advanceTo} walks tick by tick and cascades a higher-level slot
+ * down whenever the level below wraps. Deadlines past the top level's range
+ * are parked in its farthest slot and re-placed as they cascade.
+ *
+ * Not thread-safe: callers synchronize.
+ */
+public final class TimingWheel<T> {
+
+    /** Handle for a scheduled payload, used to cancel it. */
+    public static final class Timer<T> {
+        private final T payload;
+        private final long deadlineTick;
+        private Timer<T> prev;
+        private Timer<T> next;
+        private Bucket<T> bucket;
+
+        private Timer(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T payload() { return payload; }
+
+        public boolean isPending() { return bucket != null; }
+    }
+
+    private static final class Bucket<T> {
+        private final Timer<T> head = new Timer<>(null, 0); // sentinel
+
+        Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void add(Timer<T> timer) {
+            timer.prev = head.prev;
+            timer.next = head;
+            head.prev.next = timer;
+            head.prev = timer;
+            timer.bucket = this;
+        }
+
+        static <T> void unlink(Timer<T> timer) {
+            timer.prev.next = timer.next;
+            timer.next.prev = timer.prev;
+            timer.prev = null;
+            timer.next = null;
+            timer.bucket = null;
+        }
+
+        /** Detaches every timer and returns the first of the chain (null-terminated). */
+        Timer<T> drain() {
+            if (head.next == head) {
+                return null;
+            }
+            Timer<T> first = head.next;
+            head.prev.next = null;
+            head.prev = head;
+            head.next = head;
+            return first;
+        }
+    }
+
+    private final long tickMillis;
+    private final int slotBits;
+    private final int levels;
+    private final long slotMask;
+    private final Bucket<T>[][] wheels;
+
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int slotBits, int levels, long startMillis) {
+        if (tickMillis <= 0 || slotBits <= 0 || levels <= 0 || (long) slotBits * levels >= 62) {
+            throw new IllegalArgumentException("Invalid timing wheel shape");
+        }
+        this.tickMillis = tickMillis;
+        this.slotBits = slotBits;
+        this.levels = levels;
+        this.slotMask = (1L << slotBits) - 1;
+        this.wheels = new Bucket[levels][1 << slotBits];
+        for (Bucket<T>[] wheel : wheels) {
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = new Bucket<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /** Deadlines already in the past fire on the next tick. */
+    public Timer<T> schedule(T payload, long deadlineMillis) {
+        Timer<T> timer = new Timer<>(payload, Math.max(deadlineMillis / tickMillis, currentTick + 1));
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    public boolean cancel(Timer<T> timer) {
+        if (timer.bucket == null) {
+            return false;
+        }
+        Bucket.unlink(timer);
+        size--;
+        return true;
+    }
+
+    /** Moves time forward to {@code nowMillis}, handing every expired payload to {@code expired}. */
+    public void advanceTo(long nowMillis, Consumer<T> expired) {
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            currentTick++;
+            for (int level = 1; level < levels; level++) {
+                long lowerMask = (1L << (slotBits * level)) - 1;
+                if ((currentTick & lowerMask) != 0) {
+                    break;
+                }
+                cascade(level);
+            }
+
+            Timer<T> timer = wheels[0][(int) (currentTick & slotMask)].drain();
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                timer.bucket = null;
+                size--;
+                expired.accept(timer.payload);
+                timer = next;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(int level) {
+        Timer<T> timer = wheels[level][(int) ((currentTick >>> (slotBits * level)) & slotMask)].drain();
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        // cascaded timers may be due this very tick: level 0's current slot is drained right after
+        long tick = Math.max(timer.deadlineTick, currentTick);
+        long delta = tick - currentTick;
+        for (int level = 0; level < levels; level++) {
+            if (delta < 1L << (slotBits * (level + 1))) {
+                wheels[level][(int) ((tick >>> (slotBits * level)) & slotMask)].add(timer);
+                return;
+            }
+        }
+        // beyond the wheel's range: park in the top level's farthest slot
+        int top = levels - 1;
+        long farthest = currentTick + (1L << (slotBits * levels)) - 1;
+        wheels[top][(int) ((farthest >>> (slotBits * top)) & slotMask)].add(timer);
+    }
+}
@@ -0,0 +1,15 @@
+package com.dornaz.taskflowbackend.repository;
+
+import com.dornaz.taskflowbackend.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    // ✅ archived rows have no FK to projects; clean them up with the project
+    @Modifying
+    @Query("delete from ArchivedTask a where a.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,50 @@
+package com.dornaz.taskflowbackend.repository;
+
+import com.dornaz.taskflowbackend.model.ProjectDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProjectDailyStatsRepository extends JpaRepository<ProjectDailyStats, ProjectDailyStats.Key> {
+
+    // ✅ incremental rollup: add to (project, date), creating the row on first use
+    @Modifying
+    @Query(value = """
+            insert into project_daily_stats (project_id, stat_date, created_count, completed_count, reopened_count,
+                                             removed_open_count, cycle_time_count, cycle_time_seconds)
+            values (:projectId, :statDate, :created, :completed, :reopened, :removedOpen, :cycleCount, :cycleSeconds)
+            on conflict (project_id, stat_date) do update set
+                created_count      = project_daily_stats.created_count + excluded.created_count,
+                completed_count    = project_daily_stats.completed_count + excluded.completed_count,
+                reopened_count     = project_daily_stats.reopened_count + excluded.reopened_count,
+                removed_open_count = project_daily_stats.removed_open_count + excluded.removed_open_count,
+                cycle_time_count   = project_daily_stats.cycle_time_count + excluded.cycle_time_count,
+                cycle_time_seconds = project_daily_stats.cycle_time_seconds + excluded.cycle_time_seconds
+            """, nativeQuery = true)
+    void increment(@Param("projectId") Long projectId,
+                   @Param("statDate") LocalDate statDate,
+                   @Param("created") int created,
+                   @Param("completed") int completed,
+                   @Param("reopened") int reopened,
+                   @Param("removedOpen") int removedOpen,
+                   @Param("cycleCount") int cycleCount,
+                   @Param("cycleSeconds") long cycleSeconds);
+
+    List<ProjectDailyStats> findByProjectIdAndStatDateBetweenOrderByStatDateAsc(Long projectId, LocalDate from, LocalDate to);
+
+    // burndown starting point: open tasks at the start of :statDate
+    @Query("""
+            select coalesce(sum(s.createdCount - s.completedCount + s.reopenedCount - s.removedOpenCount), 0)
+            from ProjectDailyStats s
+            where s.projectId = :projectId and s.statDate < :statDate
+            """)
+    long sumOpenDeltaBefore(@Param("projectId") Long projectId, @Param("statDate") LocalDate statDate);
+
+    @Modifying
+    @Query("delete from ProjectDailyStats s where s.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,41 @@
+package com.dornaz.taskflowbackend.repository;
+
+import com.dornaz.taskflowbackend.model.ProjectMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Long> {
+
+    // ✅ everything a user can access, owned or shared: loaded once into the membership cache
+    @Query(value = """
+            select p.id as projectId, 'OWNER' as role from projects p
+            where p.owner_id = :userId and p.deleted_at is null
+            union all
+            select m.project_id, m.role from project_members m
+            join projects p on p.id = m.project_id and p.deleted_at is null
+            where m.user_id = :userId
+            """, nativeQuery = true)
+    List<MembershipRow> findMembershipsOfUser(@Param("userId") Long userId);
+
+    interface MembershipRow {
+        Long getProjectId();
+        String getRole();
+    }
+
+    @Query("select m from ProjectMember m join fetch m.user where m.project.id = :projectId order by m.id")
+    List<ProjectMember> findByProjectIdWithUser(@Param("projectId") Long projectId);
+
+    Optional<ProjectMember> findByProjectIdAndUserId(Long projectId, Long userId);
+
+    @Query("select m.user.id from ProjectMember m where m.project.id = :projectId")
+    List<Long> findUserIdsByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("delete from ProjectMember m where m.project.id = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
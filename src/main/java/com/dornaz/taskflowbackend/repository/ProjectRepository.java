@@ -4,8 +4,14 @@ import com.dornaz.taskflowbackend.model.Project;
 import com.dornaz.taskflowbackend.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
@@ -14,4 +20,23 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     Page<Project> findByOwner(User owner, Pageable pageable);
 
     Optional<Project> findByIdAndOwner(Long id, User owner);
+
+    // ✅ responses carry the owner's email: fetched with the project, not one select per row
+    @EntityGraph(attributePaths = "owner")
+    Optional<Project> findWithOwnerById(Long id);
+
+    // ✅ every project the caller can access (ids from the membership cache)
+    @EntityGraph(attributePaths = "owner")
+    Page<Project> findByIdIn(Collection<Long> ids, Pageable pageable);
+
+    // ✅ soft delete: entity queries never see these rows, so restore works on the table directly
+    @Query(value = "select owner_id from projects where id = :id and deleted_at is not null", nativeQuery = true)
+    Optional<Long> findDeletedProjectOwnerId(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            update projects set deleted_at = null, updated_at = :now, version = version + 1
+            where id = :id and deleted_at is not null
+            """, nativeQuery = true)
+    int restore(@Param("id") Long id, @Param("now") Instant now);
 }
@@ -0,0 +1,38 @@
+package com.dornaz.taskflowbackend.repository;
+
+import com.dornaz.taskflowbackend.model.SentReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface SentReminderRepository extends JpaRepository<SentReminder, Long> {
+
+    // ✅ claim: empty when this reminder was already sent (by us before a restart, or by another instance)
+    @Transactional
+    @Query(value = """
+            insert into task_reminders_sent (task_id, due_date, sent_at)
+            values (:taskId, :dueDate, :sentAt)
+            on conflict do nothing
+            returning id
+            """, nativeQuery = true)
+    Optional<Long> claim(@Param("taskId") Long taskId,
+                         @Param("dueDate") LocalDate dueDate,
+                         @Param("sentAt") Instant sentAt);
+
+    // sink failed: let the next rescan pick it up again
+    @Transactional
+    @Modifying
+    @Query("delete from SentReminder s where s.taskId = :taskId and s.dueDate = :dueDate")
+    int release(@Param("taskId") Long taskId, @Param("dueDate") LocalDate dueDate);
+
+    @Transactional
+    @Modifying
+    @Query("delete from SentReminder s where s.dueDate < :before")
+    int purgeDueBefore(@Param("before") LocalDate before);
+}
@@ -0,0 +1,103 @@
+package com.dornaz.taskflowbackend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paged reads that select only the requested attributes (fields=...), so
+ * large columns such as description are never fetched unless asked for.
+ * Rows come back as attribute -> value maps; enums are returned by name.
+ */
+@Repository
+public class SparseFieldRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param attributes  entity attributes to select, in output order; dotted
+     *                    paths such as "owner.email" join the association
+     * @param filterPath  dotted attribute path compared with {@code filterValue},
+     *                    e.g. "project.id" (reads the FK column, no join)
+     * @param filterValue a single value, or a collection matched with IN
+     */
+    public <E> Page<Map<String, Object>> findFields(Class<E> entityClass,
+                                                    List<String> attributes,
+                                                    String filterPath,
+                                                    Object filterValue,
+                                                    Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityClass);
+        // positional aliases: dotted paths are not valid alias names
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (int i = 0; i < attributes.size(); i++) {
+            selections.add(path(root, attributes.get(i)).alias("c" + i));
+        }
+        query.multiselect(selections)
+                .where(filter(cb, root, filterPath, filterValue))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Map<String, Object>> rows = typed.getResultList().stream()
+                .map(tuple -> toMap(tuple, attributes))
+                .toList();
+
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(entityClass, filterPath, filterValue));
+    }
+
+    private <E> long count(Class<E> entityClass, String filterPath, Object filterValue) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityClass);
+        query.select(cb.count(root)).where(filter(cb, root, filterPath, filterValue));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Predicate filter(CriteriaBuilder cb, Root<?> root, String filterPath, Object filterValue) {
+        Path<?> path = path(root, filterPath);
+        return filterValue instanceof Collection<?> values ? path.in(values) : cb.equal(path, filterValue);
+    }
+
+    private static Path<?> path(Root<?> root, String dotted) {
+        Path<?> path = root;
+        for (String part : dotted.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, List<String> attributes) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < attributes.size(); i++) {
+            Object value = tuple.get("c" + i);
+            row.put(attributes.get(i), value instanceof Enum<?> e ? e.name() : value);
+        }
+        return row;
+    }
+}
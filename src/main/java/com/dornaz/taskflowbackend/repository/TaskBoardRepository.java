@@ -0,0 +1,24 @@
+package com.dornaz.taskflowbackend.repository;
+
+import com.dornaz.taskflowbackend.model.Task;
+import com.dornaz.taskflowbackend.model.TaskStatus;
+
+import java.util.List;
+
+/**
+ * Custom fragment of {@link TaskRepository}: the Kanban board query needs
+ * window functions and an entity + scalar result mapping.
+ */
+public interface TaskBoardRepository {
+
+    /** One row of a board column: the task plus the total size of its column. */
+    record BoardRow(Task task, long columnCount) {
+    }
+
+    /**
+     * First {@code perColumn} tasks of every status column (manual rank order)
+     * in a single query. With {@code status} set only that column is read, and
+     * {@code afterRank}/{@code afterId} continue it after a previous page.
+     */
+    List<BoardRow> findBoard(Long projectId, TaskStatus status, String afterRank, Long afterId, int perColumn);
+}
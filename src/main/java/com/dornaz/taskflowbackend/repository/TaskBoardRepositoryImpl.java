@@ -0,0 +1,62 @@
+package com.dornaz.taskflowbackend.repository;
+
+import com.dornaz.taskflowbackend.model.Task;
+import com.dornaz.taskflowbackend.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.List;
+
+public class TaskBoardRepositoryImpl implements TaskBoardRepository {
+
+    // sorts after every real rank ([0-9a-z]) under the "C" collation
+    public static final String UNRANKED = "~";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<BoardRow> findBoard(Long projectId, TaskStatus status, String afterRank, Long afterId, int perColumn) {
+        boolean singleColumn = status != null;
+        boolean continued = afterRank != null && afterId != null;
+
+        // column_count is taken before the cursor filter, row_number after it
+        String sql = """
+                select x.* from (
+                    select c.*, row_number() over (partition by c.status order by c.sort_rank, c.id) as rn
+                    from (
+                        select t.*,
+                               coalesce(t.rank, '%s') as sort_rank,
+                               count(*) over (partition by t.status) as column_count
+                        from tasks t
+                        where t.project_id = :projectId and t.deleted_at is null %s
+                    ) c
+                    %s
+                ) x
+                where x.rn <= :perColumn
+                order by x.status, x.rn
+                """.formatted(
+                UNRANKED,
+                singleColumn ? "and t.status = :status" : "",
+                continued ? "where (c.sort_rank, c.id) > (:afterRank, :afterId)" : ""
+        );
+
+        Query query = entityManager.createNativeQuery(sql, "Task.boardRow")
+                .setParameter("projectId", projectId)
+                .setParameter("perColumn", perColumn);
+        if (singleColumn) {
+            query.setParameter("status", status.name());
+        }
+        if (continued) {
+            query.setParameter("afterRank", afterRank);
+            query.setParameter("afterId", afterId);
+        }
+
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new BoardRow((Task) row[0], ((Number) row[1]).longValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,41 @@
+package com.dornaz.taskflowbackend.repository;
+
+import com.dornaz.taskflowbackend.model.TaskDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+
+    // ✅ graph build: ids only
+    List<Edge> findByProjectId(Long projectId);
+
+    interface Edge {
+        Long getBlockerTaskId();
+        Long getBlockedTaskId();
+    }
+
+    boolean existsByBlockerTaskIdAndBlockedTaskId(Long blockerTaskId, Long blockedTaskId);
+
+    // would blocker -> blocked close a cycle, i.e. does blocked already (transitively) block blocker?
+    @Query(value = """
+            with recursive reach(id) as (
+                select blocked_task_id from task_dependencies where blocker_task_id = :from
+                union
+                select d.blocked_task_id from task_dependencies d join reach r on d.blocker_task_id = r.id
+            )
+            select exists (select 1 from reach where id = :to)
+            """, nativeQuery = true)
+    boolean isReachable(@Param("from") Long from, @Param("to") Long to);
+
+    @Modifying
+    @Query("delete from TaskDependency d where d.blockerTaskId = :blockerId and d.blockedTaskId = :blockedId")
+    int deleteEdge(@Param("blockerId") Long blockerId, @Param("blockedId") Long blockedId);
+
+    @Modifying
+    @Query("delete from TaskDependency d where d.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,12 @@
+package com.dornaz.taskflowbackend.repository;
+
+import com.dornaz.taskflowbackend.model.TaskRecord;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.Repository;
+
+// read-only: hot + archived tasks (includeArchived=true)
+public interface TaskRecordRepository extends Repository<TaskRecord, Long> {
+
+    Page<TaskRecord> findByProjectId(Long projectId, Pageable pageable);
+}
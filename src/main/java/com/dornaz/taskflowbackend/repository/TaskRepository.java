@@ -2,19 +2,350 @@ package com.dornaz.taskflowbackend.repository;
 
 import com.dornaz.taskflowbackend.model.Project;
 import com.dornaz.taskflowbackend.model.Task;
+import com.dornaz.taskflowbackend.model.TaskStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskBoardRepository {
 
     // ✅ for pagination + sorting
     Page<Task> findByProject(Project project, Pageable pageable);
 
+    // ✅ single task for a response: the project (name) comes in the same select
+    @EntityGraph(attributePaths = "project")
+    Optional<Task> findWithProjectById(Long id);
+
     // ✅ optional: useful for secure lookups
     Optional<Task> findByIdAndProject(Long id, Project project);
 
+    // ✅ delta sync: rows touched after the client's token, oldest first.
+    // Keyset on (updatedAt, id): a batch stamped with one timestamp (promoteChildren) pages through by id.
+    @Query("""
+            select t from Task t
+            where t.project = :project
+              and (t.updatedAt > :since
+                   or (t.updatedAt = :since and t.id > :afterId))
+            order by t.updatedAt asc, t.id asc
+            """)
+    List<Task> findChangedSince(@Param("project") Project project,
+                                @Param("since") Instant since,
+                                @Param("afterId") Long afterId,
+                                Pageable pageable);
+
+    // ✅ "my tasks" across every accessible project, keyset on (dueDate, id).
+    // Predicates stay on the raw due_date so the (project_id, due_date) index serves them;
+    // tasks without a due date sort last and are read by findAgendaWithoutDueDate.
+    @Query("""
+            select t from Task t join fetch t.project p
+            where p.id in :projectIds
+              and t.status <> :excluded
+              and t.dueDate between :dueFrom and :dueTo
+              and (t.dueDate > :afterDue
+                   or (t.dueDate = :afterDue and t.id > :afterId))
+            order by t.dueDate asc, t.id asc
+            """)
+    List<Task> findAgendaByDueDate(@Param("projectIds") Collection<Long> projectIds,
+                                   @Param("excluded") TaskStatus excluded,
+                                   @Param("dueFrom") LocalDate dueFrom,
+                                   @Param("dueTo") LocalDate dueTo,
+                                   @Param("afterDue") LocalDate afterDue,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    // ✅ the undated tail of the due-date agenda, keyset on id
+    @Query("""
+            select t from Task t join fetch t.project p
+            where p.id in :projectIds
+              and t.status <> :excluded
+              and t.dueDate is null
+              and t.id > :afterId
+            order by t.id asc
+            """)
+    List<Task> findAgendaWithoutDueDate(@Param("projectIds") Collection<Long> projectIds,
+                                        @Param("excluded") TaskStatus excluded,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    // ✅ same filter, keyset on (priority desc, id); undated tasks only when the window is open-ended
+    @Query("""
+            select t from Task t join fetch t.project p
+            where p.id in :projectIds
+              and t.status <> :excluded
+              and (t.dueDate between :dueFrom and :dueTo
+                   or (:includeUndated = true and t.dueDate is null))
+              and (t.priority < :afterPriority
+                   or (t.priority = :afterPriority and t.id > :afterId))
+            order by t.priority desc, t.id asc
+            """)
+    List<Task> findAgendaByPriority(@Param("projectIds") Collection<Long> projectIds,
+                                    @Param("excluded") TaskStatus excluded,
+                                    @Param("dueFrom") LocalDate dueFrom,
+                                    @Param("dueTo") LocalDate dueTo,
+                                    @Param("includeUndated") boolean includeUndated,
+                                    @Param("afterPriority") Integer afterPriority,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+
+    // ✅ batch get: one IN query, already restricted to the caller's projects
+    @Query("""
+            select t from Task t join fetch t.project p
+            where t.id in :ids and p.id in :projectIds
+            """)
+    List<Task> findAllByIdInAndProjectIdIn(@Param("ids") Collection<Long> ids,
+                                           @Param("projectIds") Collection<Long> projectIds);
+
+    // which of these ids exist at all (tells "forbidden" from "missing")
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // ✅ type-ahead over the caller's task titles (idx_tasks_live_title_trgm, see schema.sql).
+    // Prefix matches rank first, then substring matches, then fuzzy (trigram) ones.
+    @Query(value = """
+            select t.id as id, t.title as title, t.status as status,
+                   p.id as projectId, p.name as projectName
+            from tasks t
+            join projects p on p.id = t.project_id
+            where t.project_id in (:projectIds)
+              and t.deleted_at is null
+              and (t.title ilike :contains or t.title % :query)
+            order by (t.title ilike :prefix) desc,
+                     (t.title ilike :contains) desc,
+                     similarity(t.title, :query) desc,
+                     t.id
+            limit :limit
+            """, nativeQuery = true)
+    List<TitleMatch> searchTitles(@Param("projectIds") Collection<Long> projectIds,
+                                  @Param("query") String query,
+                                  @Param("prefix") String prefix,
+                                  @Param("contains") String contains,
+                                  @Param("limit") int limit);
+
+    interface TitleMatch {
+        Long getId();
+        String getTitle();
+        String getStatus();
+        Long getProjectId();
+        String getProjectName();
+    }
+
+    // ✅ reminder rescan: open tasks due in a short date window not yet reminded,
+    // keyset paged by id (idx_tasks_live_open_due_date, see schema.sql)
+    @Query("""
+            select t.id as id, t.project.id as projectId, t.title as title,
+                   t.status as status, t.dueDate as dueDate
+            from Task t
+            where t.dueDate between :fromDate and :toDate
+              and t.status <> com.dornaz.taskflowbackend.model.TaskStatus.DONE
+              and t.project.deletedAt is null
+              and t.id > :afterId
+              and not exists (select 1 from SentReminder s where s.taskId = t.id and s.dueDate = t.dueDate)
+            order by t.id
+            """)
+    List<ReminderTarget> findReminderCandidates(@Param("fromDate") LocalDate fromDate,
+                                                @Param("toDate") LocalDate toDate,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+
+    // reminder fire: re-read current state of the tasks whose timers expired
+    @Query("""
+            select t.id as id, t.project.id as projectId, t.title as title,
+                   t.status as status, t.dueDate as dueDate
+            from Task t
+            where t.id in :ids and t.project.deletedAt is null
+            """)
+    List<ReminderTarget> findReminderTargets(@Param("ids") Collection<Long> ids);
+
+    interface ReminderTarget {
+        Long getId();
+        Long getProjectId();
+        String getTitle();
+        TaskStatus getStatus();
+        LocalDate getDueDate();
+    }
+
+    // ✅ subtasks: a whole subtree is one prefix range scan on (project_id, path)
+    @Query("select t from Task t where t.project = :project and t.path like :pathPattern order by t.path")
+    List<Task> findSubtree(@Param("project") Project project, @Param("pathPattern") String pathPattern);
+
+    // current path straight from the database (bypasses the persistence context)
+    @Query(value = "select path from tasks where id = :id and deleted_at is null", nativeQuery = true)
+    Optional<String> findPathById(@Param("id") Long id);
+
+    // serializes subtree rewrites and dependency inserts within a project so their
+    // cycle checks can't interleave; released at commit
+    @Query(value = "select cast(pg_advisory_xact_lock(:projectId) as text)", nativeQuery = true)
+    String lockProjectStructure(@Param("projectId") Long projectId);
+
+    // size and deepest level (ids per path) of a subtree
+    @Query(value = """
+            select count(*) as size,
+                   coalesce(max(length(path) - length(replace(path, '/', ''))), 1) - 1 as maxDepth
+            from tasks
+            where project_id = :projectId and path like :pathPattern and deleted_at is null
+            """, nativeQuery = true)
+    SubtreeStats findSubtreeStats(@Param("projectId") Long projectId, @Param("pathPattern") String pathPattern);
+
+    interface SubtreeStats {
+        long getSize();
+        int getMaxDepth();
+    }
+
+    // a new task's path needs its generated id: written straight to the row, so the insert is
+    // not followed by an entity UPDATE (no version bump, no second audit event). Detaches the task.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update tasks set path = :parentPath || id || '/' where id = :id", nativeQuery = true)
+    int initPath(@Param("id") Long id, @Param("parentPath") String parentPath);
+
+    // re-root a subtree: every path under oldPrefix now starts with newPrefix
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            update tasks
+            set path = :newPrefix || substring(path from :cut),
+                parent_id = case when id = :rootId then cast(:newParentId as bigint) else parent_id end,
+                updated_at = case when id = :rootId then :now else updated_at end,
+                version = case when id = :rootId then version + 1 else version end
+            where project_id = :projectId and path like :pathPattern and deleted_at is null
+            """, nativeQuery = true)
+    int moveSubtree(@Param("projectId") Long projectId,
+                    @Param("pathPattern") String pathPattern,
+                    @Param("cut") int cut,
+                    @Param("newPrefix") String newPrefix,
+                    @Param("rootId") Long rootId,
+                    @Param("newParentId") Long newParentId,
+                    @Param("now") Instant now);
+
+    // a deleted task's descendants move up one level; its direct children get its parent
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            update tasks
+            set path = :newPrefix || substring(path from :cut),
+                parent_id = case when parent_id = :removedId then cast(:newParentId as bigint) else parent_id end,
+                updated_at = case when parent_id = :removedId then :now else updated_at end,
+                version = case when parent_id = :removedId then version + 1 else version end
+            where project_id = :projectId and path like :pathPattern and id <> :removedId
+              and deleted_at is null
+            """, nativeQuery = true)
+    int promoteChildren(@Param("projectId") Long projectId,
+                        @Param("pathPattern") String pathPattern,
+                        @Param("cut") int cut,
+                        @Param("newPrefix") String newPrefix,
+                        @Param("removedId") Long removedId,
+                        @Param("newParentId") Long newParentId,
+                        @Param("now") Instant now);
+
+    // ✅ status compare-and-set: what the check and the side effects need, no entity hydration
+    @Query("""
+            select t.id as id, t.project.id as projectId, t.status as status, t.dueDate as dueDate,
+                   t.createdAt as createdAt, t.updatedAt as updatedAt, t.version as version
+            from Task t
+            where t.id = :id
+            """)
+    Optional<StatusRow> findStatusRowById(@Param("id") Long id);
+
+    interface StatusRow {
+        Long getId();
+        Long getProjectId();
+        TaskStatus getStatus();
+        LocalDate getDueDate();
+        Instant getCreatedAt();
+        Instant getUpdatedAt();
+        Long getVersion();
+    }
+
+    // 0 rows = someone else changed the task since the StatusRow was read
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            update tasks
+            set status = :toStatus, updated_at = :now, version = version + 1
+            where id = :id and status = :fromStatus and version = :version and deleted_at is null
+            """, nativeQuery = true)
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("fromStatus") String fromStatus,
+                            @Param("toStatus") String toStatus,
+                            @Param("version") Long version,
+                            @Param("now") Instant now);
+
+    // ✅ dependency graph nodes: no description, no entity hydration
+    @Query("""
+            select t.id as id, t.title as title, t.status as status, t.dueDate as dueDate
+            from Task t
+            where t.project.id = :projectId
+            """)
+    List<GraphNode> findGraphNodes(@Param("projectId") Long projectId);
+
+    @Query("""
+            select t.id as id, t.title as title, t.status as status, t.dueDate as dueDate
+            from Task t
+            where t.id in :ids
+            """)
+    List<GraphNode> findGraphNodesByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface GraphNode {
+        Long getId();
+        String getTitle();
+        TaskStatus getStatus();
+        LocalDate getDueDate();
+    }
+
+    // ✅ manual ordering: neighbours by rank (all served by the (project_id, rank) index)
+    Optional<Task> findFirstByProjectAndRankNotNullOrderByRankDesc(Project project);
+
+    Optional<Task> findFirstByProjectAndRankGreaterThanOrderByRankAsc(Project project, String rank);
+
+    Optional<Task> findFirstByProjectAndRankLessThanOrderByRankDesc(Project project, String rank);
+
+    // another task sharing the anchor's rank: strict neighbour lookups would skip it
+    boolean existsByProjectAndRankAndIdNotIn(Project project, String rank, Collection<Long> ids);
+
+    long countByProjectId(Long projectId);
+
+    // rank respacing in one statement: the n-th task in the current order gets
+    // the n-th of :ranks (comma-separated). Native, so no entity callbacks and no audit event per row;
+    // updated_at moves so delta sync sends the new order, version does not (ranks never conflict)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            update tasks t
+            set rank = r.rank, updated_at = :now
+            from (select id, row_number() over (order by rank asc, created_at asc, id asc) as pos
+                  from tasks
+                  where project_id = :projectId and deleted_at is null) o
+            join unnest(string_to_array(:ranks, ',')) with ordinality as r(rank, pos) on r.pos = o.pos
+            where t.id = o.id and t.rank is distinct from r.rank
+            """, nativeQuery = true) // unranked tasks (created before ranks existed) sort last, in creation order
+    int respaceRanks(@Param("projectId") Long projectId, @Param("ranks") String ranks, @Param("now") Instant now);
+
+    // length(rank) is null <=> rank is null; both branches use idx_tasks_live_rank_length
+    @Query(value = """
+            select distinct project_id from tasks
+            where deleted_at is null
+              and (length(rank) is null or length(rank) > :maxLength)
+            """, nativeQuery = true)
+    List<Long> findProjectIdsNeedingRankRebalance(@Param("maxLength") int maxLength, Pageable pageable);
+
     void deleteByIdAndProject(Long id, Project project);
+
+    // ✅ soft delete: entity queries never see these rows, so restore works on the table directly
+    @Query(value = "select project_id from tasks where id = :id and deleted_at is not null", nativeQuery = true)
+    Optional<Long> findDeletedTaskProjectId(@Param("id") Long id);
+
+    // comes back as a root task: its subtasks were promoted and its parent may be gone
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            update tasks
+            set deleted_at = null, parent_id = null, path = '/' || id || '/', updated_at = :now,
+                version = version + 1
+            where id = :id and deleted_at is not null
+            """, nativeQuery = true)
+    int restore(@Param("id") Long id, @Param("now") Instant now);
 }
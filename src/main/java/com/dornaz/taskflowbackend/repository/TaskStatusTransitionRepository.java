@@ -0,0 +1,20 @@
+package com.dornaz.taskflowbackend.repository;
+
+import com.dornaz.taskflowbackend.model.TaskStatus;
+import com.dornaz.taskflowbackend.model.TaskStatusTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface TaskStatusTransitionRepository extends JpaRepository<TaskStatusTransition, Long> {
+
+    // ✅ cycle time start: first time the task went IN_PROGRESS
+    Optional<TaskStatusTransition> findFirstByTaskIdAndToStatusOrderByChangedAtAsc(Long taskId, TaskStatus toStatus);
+
+    @Modifying
+    @Query("delete from TaskStatusTransition t where t.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,23 @@
+package com.dornaz.taskflowbackend.repository;
+
+import com.dornaz.taskflowbackend.model.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    // ✅ delta sync: deletions in (since, until]
+    List<TaskTombstone> findByProjectIdAndDeletedAtAfterAndDeletedAtLessThanEqualOrderByDeletedAtAsc(
+            Long projectId, Instant since, Instant until
+    );
+
+    // a restored task is live again: clients syncing from before the delete must not drop it
+    @Modifying
+    @Query("delete from TaskTombstone t where t.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+}
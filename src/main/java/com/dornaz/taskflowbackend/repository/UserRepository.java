@@ -2,13 +2,32 @@ package com.dornaz.taskflowbackend.repository;
 
 import com.dornaz.taskflowbackend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Optional<User> findByEmail(String email);
+    // ✅ case-insensitive, served by ux_users_email_lower (see schema.sql); emails are stored as typed
+    @Query("select u from User u where lower(u.email) = lower(:email)")
+    Optional<User> findByEmailIgnoreCase(@Param("email") String email);
 
     boolean existsByEmail(String email);
-}
 
+    // ✅ one round trip: empty when the email is taken (case-insensitive, see schema.sql)
+    @Transactional
+    @Query(value = """
+            insert into users (username, email, password_hash, role, created_at)
+            values (:username, :email, :passwordHash, :role, :createdAt)
+            on conflict do nothing
+            returning id
+            """, nativeQuery = true)
+    Optional<Long> insertIfEmailAbsent(@Param("username") String username,
+                                       @Param("email") String email,
+                                       @Param("passwordHash") String passwordHash,
+                                       @Param("role") String role,
+                                       @Param("createdAt") LocalDateTime createdAt);
+}
@@ -0,0 +1,214 @@
+package com.dornaz.taskflowbackend.security;
+
+import com.dornaz.taskflowbackend.config.ReadWriteRoutingDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small dedicated pool instead of the Tomcat worker threads.
+ *
+ * The pool and its queue are bounded; work that waited longer than
+ * {@code security.hashing.max-queue-ms} is dropped before hashing, and a full
+ * queue rejects immediately. Both surface as 503 so a login storm sheds load.
+ * Results come back as futures: the endpoints return them to Spring MVC, so
+ * no request thread waits on a hash either.
+ *
+ * Bulk imports hash on a second, equally bounded pool
+ * ({@code security.hashing.bulk-*}), so a large import can't starve logins
+ * and never lands on the JVM-wide common fork-join pool.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long maxQueueNanos;
+    private final ThreadPoolExecutor bulkExecutor;
+
+    // (email, sha-256(password)) -> expiry; lets repeated bad guesses skip BCrypt
+    private final Map<String, Long> recentFailures = new ConcurrentHashMap<>();
+    private final long failureTtlNanos;
+    private final int maxFailureEntries;
+
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            @Value("${security.hashing.threads:0}") int threads,
+            @Value("${security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.hashing.max-queue-ms:500}") long maxQueueMillis,
+            @Value("${security.hashing.failed-attempt-ttl-seconds:60}") long failureTtlSeconds,
+            @Value("${security.hashing.failed-attempt-max-entries:10000}") int maxFailureEntries,
+            @Value("${security.hashing.bulk-threads:0}") int bulkThreads,
+            @Value("${security.hashing.bulk-queue-capacity:16}") int bulkQueueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        this.passwordEncoder = passwordEncoder;
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        this.executor = boundedPool("password-hashing-", threads > 0 ? threads : cores, queueCapacity);
+        // half the cores by default: logins keep the rest while an import runs
+        this.bulkExecutor = boundedPool("password-hashing-bulk-",
+                bulkThreads > 0 ? bulkThreads : Math.max(1, cores / 2), bulkQueueCapacity);
+        this.maxQueueNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueMillis);
+        this.failureTtlNanos = TimeUnit.SECONDS.toNanos(failureTtlSeconds);
+        this.maxFailureEntries = maxFailureEntries;
+
+        this.rejectedCounter = meterRegistry.counter("taskflow.password.hashing.rejected");
+        meterRegistry.gauge("taskflow.password.hashing.queue", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("taskflow.password.hashing.bulk.queue", bulkExecutor, e -> e.getQueue().size());
+    }
+
+    private static ThreadPoolExecutor boundedPool(String threadPrefix, int poolSize, int queueCapacity) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, threadPrefix + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        ) {
+            // the stages chained on a hash (user lookups, inserts) run on this thread:
+            // they route like the request that submitted it
+            @Override
+            public void execute(Runnable command) {
+                super.execute(ReadWriteRoutingDataSource.propagate(command));
+            }
+        };
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Bulk provisioning: one chunk per bulk thread, hashes in input order.
+     * A full bulk queue (too many concurrent imports) fails with 503.
+     */
+    public CompletableFuture<List<String>> encodeAll(List<String> rawPasswords) {
+        int chunkSize = Math.max(1, -Math.floorDiv(-rawPasswords.size(), bulkExecutor.getMaximumPoolSize()));
+        List<CompletableFuture<List<String>>> chunks = new ArrayList<>();
+        try {
+            for (int from = 0; from < rawPasswords.size(); from += chunkSize) {
+                List<String> chunk = rawPasswords.subList(from, Math.min(from + chunkSize, rawPasswords.size()));
+                chunks.add(CompletableFuture.supplyAsync(
+                        () -> chunk.stream().map(passwordEncoder::encode).toList(), bulkExecutor));
+            }
+        } catch (RejectedExecutionException ex) {
+            chunks.forEach(chunk -> chunk.cancel(false));
+            rejectedCounter.increment();
+            return CompletableFuture.failedFuture(new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE, "Another user import is running, please retry shortly"
+            ));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(done -> chunks.stream().flatMap(chunk -> chunk.join().stream()).toList());
+    }
+
+    /**
+     * Verifies a login attempt. A (email, password) pair that failed within the
+     * last TTL is rejected again without hashing.
+     */
+    public CompletableFuture<Boolean> matches(String email, String rawPassword, String passwordHash) {
+        String failureKey = failureKey(email, rawPassword);
+        Long expiresAt = recentFailures.get(failureKey);
+        if (expiresAt != null) {
+            if (expiresAt - System.nanoTime() > 0) {
+                return CompletableFuture.completedFuture(false);
+            }
+            recentFailures.remove(failureKey, expiresAt);
+        }
+
+        return submit(() -> {
+            boolean matches = passwordEncoder.matches(rawPassword, passwordHash);
+            if (!matches) {
+                rememberFailure(failureKey);
+            }
+            return matches;
+        });
+    }
+
+    /** True when the stored hash was made with a weaker cost than the one configured now. */
+    public boolean needsRehash(String passwordHash) {
+        return passwordEncoder.upgradeEncoding(passwordHash);
+    }
+
+    // ---------- helpers ----------
+
+    private <T> CompletableFuture<T> submit(Supplier<T> hashing) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                // stale by the time a thread picked it up: the client has likely given up
+                if (System.nanoTime() - enqueuedAt > maxQueueNanos) {
+                    throw overloaded();
+                }
+                return hashing.get();
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(overloaded());
+        }
+    }
+
+    private ResponseStatusException overloaded() {
+        rejectedCounter.increment();
+        return new ResponseStatusException(
+                HttpStatus.SERVICE_UNAVAILABLE, "Authentication is busy, please retry shortly"
+        );
+    }
+
+    private void rememberFailure(String failureKey) {
+        long now = System.nanoTime();
+        if (recentFailures.size() >= maxFailureEntries) {
+            recentFailures.values().removeIf(expiresAt -> expiresAt - now <= 0);
+        }
+        // still full of live entries: skip caching rather than grow without bound
+        if (recentFailures.size() < maxFailureEntries) {
+            recentFailures.put(failureKey, now + failureTtlNanos);
+        }
+    }
+
+    // only a digest of the (wrong) password is kept, never the password itself
+    private String failureKey(String email, String rawPassword) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(rawPassword.getBytes(StandardCharsets.UTF_8));
+            return email.toLowerCase(Locale.ROOT) + ':' + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        bulkExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,101 @@
+package com.dornaz.taskflowbackend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in the security chain. Registered twice in SecurityConfig:
+ * IP scope before authentication (so login storms never reach BCrypt) and
+ * USER scope right after it. Not a @Component on purpose, otherwise Boot would
+ * also register it as a plain servlet filter.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimiter.Scope scope;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimiter.Scope scope) {
+        this.rateLimiter = rateLimiter;
+        this.scope = scope;
+    }
+
+    // both instances share this class, so keep their "already filtered" markers apart
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return super.getAlreadyFilteredAttributeName() + "." + scope.name();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RateLimiter.RouteGroup group = routeGroup(request);
+        String key = scope == RateLimiter.Scope.IP ? request.getRemoteAddr() : currentUser();
+
+        if (key != null) {
+            long waitNanos = rateLimiter.tryAcquire(scope, group, key);
+            if (waitNanos > 0) {
+                reject(response, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimiter.RouteGroup routeGroup(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        if (path.startsWith("/api/auth/") || (path.equals("/api/users") && "POST".equals(method))) {
+            return RateLimiter.RouteGroup.AUTH;
+        }
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return RateLimiter.RouteGroup.READ;
+        }
+        return RateLimiter.RouteGroup.WRITE;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    // same body shape as GlobalExceptionHandler (filters run outside the advice)
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(
+                "{\"timestamp\":\"" + Instant.now() + "\",\"status\":429,\"error\":\"Too many requests\"}"
+        );
+    }
+}
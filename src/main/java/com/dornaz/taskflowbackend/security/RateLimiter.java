@@ -0,0 +1,133 @@
+package com.dornaz.taskflowbackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user / per-IP token buckets.
+ *
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time"
+ * (GCRA form of a token bucket), so acquiring is one CAS and a bucket costs
+ * one cache entry. A bucket untouched for the idle period is full again and
+ * can be dropped without losing anything, so the buckets live in a Caffeine
+ * cache with expireAfterAccess; its size bound evicts in amortized O(1) on
+ * the side instead of scanning the map on a request thread.
+ */
+@Component
+public class RateLimiter {
+
+    public enum Scope { IP, USER }
+
+    public enum RouteGroup { AUTH, READ, WRITE }
+
+    private final long origin = System.nanoTime();
+
+    private final Cache<String, AtomicLong> buckets;
+
+    private final Map<RouteGroup, Limit> userLimits = new EnumMap<>(RouteGroup.class);
+    private final Limit authLimit;
+    private final Limit ipLimit;
+
+    // registered once: tryAcquire only increments
+    private final Map<Scope, Map<RouteGroup, Counter>> rejectedCounters = new EnumMap<>(Scope.class);
+
+    public RateLimiter(
+            @Value("${ratelimit.max-buckets:100000}") int maxBuckets,
+            @Value("${ratelimit.idle-eviction-seconds:600}") long idleEvictionSeconds,
+            @Value("${ratelimit.auth.per-minute:20}") int authPerMinute,
+            @Value("${ratelimit.auth.burst:10}") int authBurst,
+            @Value("${ratelimit.read.per-minute:600}") int readPerMinute,
+            @Value("${ratelimit.read.burst:100}") int readBurst,
+            @Value("${ratelimit.write.per-minute:120}") int writePerMinute,
+            @Value("${ratelimit.write.burst:30}") int writeBurst,
+            @Value("${ratelimit.ip.per-minute:1200}") int ipPerMinute,
+            @Value("${ratelimit.ip.burst:200}") int ipBurst,
+            MeterRegistry meterRegistry
+    ) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofSeconds(idleEvictionSeconds))
+                .build();
+        this.authLimit = new Limit(authPerMinute, authBurst);
+        this.ipLimit = new Limit(ipPerMinute, ipBurst);
+        this.userLimits.put(RouteGroup.READ, new Limit(readPerMinute, readBurst));
+        this.userLimits.put(RouteGroup.WRITE, new Limit(writePerMinute, writeBurst));
+
+        for (Scope scope : Scope.values()) {
+            Map<RouteGroup, Counter> byGroup = new EnumMap<>(RouteGroup.class);
+            for (RouteGroup group : RouteGroup.values()) {
+                byGroup.put(group, Counter.builder("taskflow.ratelimit.rejected")
+                        .tag("scope", scope.name().toLowerCase())
+                        .tag("group", group.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+            rejectedCounters.put(scope, byGroup);
+        }
+
+        meterRegistry.gauge("taskflow.ratelimit.buckets", buckets, Cache::estimatedSize);
+    }
+
+    /**
+     * Takes one token for the key.
+     *
+     * @return 0 if allowed, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(Scope scope, RouteGroup group, String key) {
+        Limit limit = limitFor(scope, group);
+        if (limit == null) {
+            return 0;
+        }
+
+        String bucketKey = scope.name() + ':' + group.name() + ':' + key;
+        AtomicLong bucket = buckets.get(bucketKey, k -> new AtomicLong());
+
+        long waitNanos = acquire(bucket, limit, System.nanoTime() - origin);
+        if (waitNanos > 0) {
+            rejectedCounters.get(scope).get(group).increment();
+        }
+        return waitNanos;
+    }
+
+    // per-IP: auth endpoints get the strict auth limit, everything else the overall IP limit;
+    // per-user: read/write limits (auth requests have no verified user yet)
+    private Limit limitFor(Scope scope, RouteGroup group) {
+        if (scope == Scope.IP) {
+            return group == RouteGroup.AUTH ? authLimit : ipLimit;
+        }
+        return userLimits.get(group);
+    }
+
+    private long acquire(AtomicLong bucket, Limit limit, long now) {
+        while (true) {
+            long tat = bucket.get();
+            long start = Math.max(tat, now);
+            long waitNanos = start - now - limit.burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(tat, start + limit.emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private static final class Limit {
+        final long emissionIntervalNanos;
+        final long burstToleranceNanos;
+
+        Limit(int perMinute, int burst) {
+            this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(perMinute, 1);
+            this.burstToleranceNanos = emissionIntervalNanos * (Math.max(burst, 1) - 1);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.dornaz.taskflowbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for create endpoints.
+ *
+ * The first request per (user, endpoint, key) runs and its response is kept
+ * in a bounded, TTL-evicted in-memory store; retries get that response back
+ * without touching the database. A duplicate that arrives while the first is
+ * still running waits for it instead of creating a second row. Failed
+ * requests are not remembered, so a retry after an error runs again.
+ * Each entry keeps a SHA-256 of the request body; reusing a key with a
+ * different body is a client bug and answers 422 instead of replaying.
+ * The store is per instance: retries landing on another node are not deduplicated.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> responses;
+    private final long waitTimeoutMillis;
+    private final ObjectMapper objectMapper;
+
+    private record Entry(String fingerprint, CompletableFuture<ResponseEntity<?>> response) {
+    }
+
+    public IdempotencyService(@Value("${app.idempotency.max-entries:100000}") long maxEntries,
+                              @Value("${app.idempotency.ttl-minutes:60}") long ttlMinutes,
+                              @Value("${app.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+                              ObjectMapper objectMapper) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs {@code action} once per key; {@code key == null} means the client
+     * did not ask for idempotency and the action simply runs. {@code body} is
+     * the request body the key is bound to.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String user, String endpoint, String key, Object body,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + HEADER);
+        }
+
+        String storeKey = user + '|' + endpoint + '|' + key;
+        Entry mine = new Entry(fingerprint(body), new CompletableFuture<>());
+        Entry existing = responses.asMap().putIfAbsent(storeKey, mine);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(mine.fingerprint())) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_CONTENT,
+                        HEADER + " was already used with a different request body");
+            }
+            return (ResponseEntity<T>) replay(existing.response());
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            forget(storeKey, mine, ex);
+            throw ex;
+        }
+
+        // inside a transaction the response only counts once it is committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        mine.response().complete(response);
+                    } else {
+                        forget(storeKey, mine, new ResponseStatusException(
+                                HttpStatus.CONFLICT, "The original request with this " + HEADER + " was rolled back"));
+                    }
+                }
+            });
+        } else {
+            mine.response().complete(response);
+        }
+        return response;
+    }
+
+    private void forget(String storeKey, Entry entry, RuntimeException cause) {
+        responses.asMap().remove(storeKey, entry);
+        entry.response().completeExceptionally(cause);
+    }
+
+    // the deserialized body, re-serialized: formatting differences in the raw JSON don't count
+    private String fingerprint(Object body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(body)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private ResponseEntity<?> replay(CompletableFuture<ResponseEntity<?>> first) {
+        ResponseEntity<?> original;
+        try {
+            original = first.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted");
+        } catch (ExecutionException ex) {
+            // the in-flight original failed: report the same outcome
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+}
@@ -0,0 +1,123 @@
+package com.dornaz.taskflowbackend.service;
+
+import com.dornaz.taskflowbackend.cache.CacheInvalidationBus;
+import com.dornaz.taskflowbackend.cache.CacheNames;
+import com.dornaz.taskflowbackend.model.ProjectRole;
+import com.dornaz.taskflowbackend.repository.ProjectMemberRepository;
+import com.dornaz.taskflowbackend.repository.ProjectMemberRepository.MembershipRow;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Project permission checks from a per-user membership cache: one query
+ * per user on a cache miss, none per request after that. Any change to a
+ * user's memberships (project created or deleted, member added, changed or
+ * removed) evicts that user on every instance via the invalidation bus.
+ *
+ * Misses load on the primary in a transaction of their own: a replica lagging
+ * behind the change that caused the eviction would otherwise put the old
+ * roles (a just-revoked member, say) back into the cache for the whole TTL.
+ * That load runs before the request's transaction opens
+ * (MembershipPreloadInterceptor): a miss inside a transaction would need a
+ * second connection while the first is held, and a burst of those can drain
+ * the pool. A miss that still happens in a transaction reads on the caller's
+ * connection and is not cached.
+ */
+@Service
+public class ProjectAccessService {
+
+    private static final ProjectRole[] ROLES = ProjectRole.values();
+
+    /** Immutable: sorted project ids with a parallel array of role ordinals. */
+    public static final class Memberships {
+        private final long[] projectIds;
+        private final byte[] roles;
+
+        private Memberships(long[] projectIds, byte[] roles) {
+            this.projectIds = projectIds;
+            this.roles = roles;
+        }
+
+        /** Null when the user has no access at all. */
+        public ProjectRole roleIn(long projectId) {
+            int i = Arrays.binarySearch(projectIds, projectId);
+            return i >= 0 ? ROLES[roles[i]] : null;
+        }
+
+        public List<Long> projectIds() {
+            List<Long> ids = new ArrayList<>(projectIds.length);
+            for (long id : projectIds) ids.add(id);
+            return ids;
+        }
+
+        public boolean isEmpty() {
+            return projectIds.length == 0;
+        }
+    }
+
+    private final ProjectMemberRepository projectMemberRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Cache membershipCache;
+    private final TransactionTemplate primaryTransaction;
+
+    public ProjectAccessService(ProjectMemberRepository projectMemberRepository,
+                                CacheInvalidationBus cacheInvalidationBus,
+                                CacheManager cacheManager,
+                                PlatformTransactionManager transactionManager) {
+        this.projectMemberRepository = projectMemberRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.membershipCache = cacheManager.getCache(CacheNames.MEMBERSHIPS);
+        // not read-only, so it routes to the primary; only used outside other transactions
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public Memberships membershipsOf(Long userId) {
+        Memberships cached = membershipCache.get(userId, Memberships.class);
+        if (cached != null) {
+            return cached;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // evicted since the preload: use the caller's connection (maybe a replica,
+            // maybe uncommitted changes), so answer this request only
+            return load(userId);
+        }
+        return membershipCache.get(userId, () -> primaryTransaction.execute(status -> load(userId)));
+    }
+
+    public ProjectRole roleIn(Long userId, Long projectId) {
+        return membershipsOf(userId).roleIn(projectId);
+    }
+
+    public void evict(Long userId) {
+        cacheInvalidationBus.publish(CacheNames.MEMBERSHIPS, userId);
+    }
+
+    private Memberships load(Long userId) {
+        List<MembershipRow> rows = projectMemberRepository.findMembershipsOfUser(userId);
+        rows = new ArrayList<>(rows);
+        rows.sort((a, b) -> Long.compare(a.getProjectId(), b.getProjectId()));
+
+        long[] ids = new long[rows.size()];
+        byte[] roles = new byte[rows.size()];
+        int count = 0;
+        for (MembershipRow row : rows) {
+            byte role = (byte) ProjectRole.valueOf(row.getRole()).ordinal();
+            if (count > 0 && ids[count - 1] == row.getProjectId()) {
+                roles[count - 1] = (byte) Math.max(roles[count - 1], role); // owner listed as member too
+                continue;
+            }
+            ids[count] = row.getProjectId();
+            roles[count] = role;
+            count++;
+        }
+        return new Memberships(Arrays.copyOf(ids, count), Arrays.copyOf(roles, count));
+    }
+}
@@ -0,0 +1,162 @@
+package com.dornaz.taskflowbackend.service;
+
+import com.dornaz.taskflowbackend.dto.project.ProjectAnalyticsResponse;
+import com.dornaz.taskflowbackend.dto.project.ProjectDailyStatsResponse;
+import com.dornaz.taskflowbackend.model.ProjectDailyStats;
+import com.dornaz.taskflowbackend.model.Task;
+import com.dornaz.taskflowbackend.model.TaskStatus;
+import com.dornaz.taskflowbackend.model.TaskStatusTransition;
+import com.dornaz.taskflowbackend.repository.ProjectDailyStatsRepository;
+import com.dornaz.taskflowbackend.repository.TaskStatusTransitionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Status history and per-day project rollups. Every task create, status
+ * change, delete and restore appends a {@link TaskStatusTransition} and bumps the
+ * matching {@link ProjectDailyStats} row in the caller's transaction, so the
+ * analytics read costs one row per day instead of a scan over the tasks.
+ */
+@Service
+public class ProjectAnalyticsService {
+
+    private final TaskStatusTransitionRepository transitionRepository;
+    private final ProjectDailyStatsRepository statsRepository;
+
+    public ProjectAnalyticsService(TaskStatusTransitionRepository transitionRepository,
+                                   ProjectDailyStatsRepository statsRepository) {
+        this.transitionRepository = transitionRepository;
+        this.statsRepository = statsRepository;
+    }
+
+    @Transactional
+    public void recordCreated(Task task) {
+        record(task, null, task.getStatus(), true);
+    }
+
+    /** No-op when the status did not actually change. */
+    @Transactional
+    public void recordStatusChange(Task task, TaskStatus from) {
+        if (from != task.getStatus()) {
+            record(task, from, task.getStatus(), false);
+        }
+    }
+
+    /** Same, for status compare-and-sets that never load the task. */
+    @Transactional
+    public void recordStatusChange(Long taskId, Long projectId, Instant createdAt, TaskStatus from, TaskStatus to) {
+        if (from != to) {
+            record(taskId, projectId, createdAt, from, to, false);
+        }
+    }
+
+    @Transactional
+    public void recordDeleted(Task task) {
+        record(task, task.getStatus(), null, false);
+    }
+
+    /**
+     * Reverses {@link #recordDeleted}: an open task counts as open again
+     * (removed_open goes back down, so the restore day may hold a negative
+     * count), a DONE task changes no count since deleting it changed none.
+     */
+    @Transactional
+    public void recordRestored(Task task) {
+        Instant now = Instant.now();
+        transitionRepository.save(new TaskStatusTransition(
+                task.getId(), task.getProject().getId(), null, task.getStatus(), now));
+        if (task.getStatus() != TaskStatus.DONE) {
+            statsRepository.increment(task.getProject().getId(), LocalDate.ofInstant(now, ZoneOffset.UTC),
+                    0, 0, 0, -1, 0, 0);
+        }
+    }
+
+    private void record(Task task, TaskStatus from, TaskStatus to, boolean created) {
+        record(task.getId(), task.getProject().getId(), task.getCreatedAt(), from, to, created);
+    }
+
+    private void record(Long taskId, Long projectId, Instant createdAt, TaskStatus from, TaskStatus to, boolean created) {
+        Instant now = Instant.now();
+
+        transitionRepository.save(new TaskStatusTransition(taskId, projectId, from, to, now));
+
+        boolean completed = to == TaskStatus.DONE && from != TaskStatus.DONE;
+        boolean reopened = from == TaskStatus.DONE && to != null && to != TaskStatus.DONE;
+        boolean removedOpen = to == null && from != TaskStatus.DONE;
+
+        int cycleCount = 0;
+        long cycleSeconds = 0;
+        if (completed && !created) {
+            Instant started = transitionRepository
+                    .findFirstByTaskIdAndToStatusOrderByChangedAtAsc(taskId, TaskStatus.IN_PROGRESS)
+                    .map(TaskStatusTransition::getChangedAt)
+                    .orElse(createdAt);
+            if (started != null) {
+                cycleCount = 1;
+                cycleSeconds = Math.max(0, Duration.between(started, now).getSeconds());
+            }
+        }
+
+        statsRepository.increment(
+                projectId,
+                LocalDate.ofInstant(now, ZoneOffset.UTC),
+                created ? 1 : 0,
+                completed ? 1 : 0,
+                reopened ? 1 : 0,
+                removedOpen ? 1 : 0,
+                cycleCount,
+                cycleSeconds
+        );
+    }
+
+    /** Daily series for [from, to] (UTC days); two indexed reads regardless of task count. */
+    @Transactional(readOnly = true)
+    public ProjectAnalyticsResponse getAnalytics(Long projectId, LocalDate from, LocalDate to) {
+        long open = statsRepository.sumOpenDeltaBefore(projectId, from);
+
+        Map<LocalDate, ProjectDailyStats> byDate = new HashMap<>();
+        for (ProjectDailyStats stats : statsRepository.findByProjectIdAndStatDateBetweenOrderByStatDateAsc(projectId, from, to)) {
+            byDate.put(stats.getStatDate(), stats);
+        }
+
+        List<ProjectDailyStatsResponse> days = new ArrayList<>();
+        int completedTotal = 0;
+        int cycleCount = 0;
+        long cycleSeconds = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            ProjectDailyStats stats = byDate.get(date);
+            if (stats == null) {
+                days.add(new ProjectDailyStatsResponse(date, 0, 0, 0, open, null));
+                continue;
+            }
+            open += stats.getOpenDelta();
+            completedTotal += stats.getCompletedCount();
+            cycleCount += stats.getCycleTimeCount();
+            cycleSeconds += stats.getCycleTimeSeconds();
+            days.add(new ProjectDailyStatsResponse(
+                    date,
+                    stats.getCreatedCount(),
+                    stats.getCompletedCount(),
+                    stats.getReopenedCount(),
+                    open,
+                    averageHours(stats.getCycleTimeSeconds(), stats.getCycleTimeCount())
+            ));
+        }
+
+        return new ProjectAnalyticsResponse(projectId, from, to, completedTotal,
+                averageHours(cycleSeconds, cycleCount), days);
+    }
+
+    private static Double averageHours(long seconds, int count) {
+        return count == 0 ? null : seconds / 3600.0 / count;
+    }
+}
@@ -0,0 +1,375 @@
+package com.dornaz.taskflowbackend.service;
+
+import com.dornaz.taskflowbackend.audit.AuditAction;
+import com.dornaz.taskflowbackend.audit.AuditEvent;
+import com.dornaz.taskflowbackend.audit.AuditLog;
+import com.dornaz.taskflowbackend.cache.CacheInvalidationBus;
+import com.dornaz.taskflowbackend.cache.CacheNames;
+import com.dornaz.taskflowbackend.dto.common.FieldSelection;
+import com.dornaz.taskflowbackend.dto.common.PagedResponse;
+import com.dornaz.taskflowbackend.dto.project.ProjectAnalyticsResponse;
+import com.dornaz.taskflowbackend.dto.project.ProjectMemberRequest;
+import com.dornaz.taskflowbackend.dto.project.ProjectMemberResponse;
+import com.dornaz.taskflowbackend.dto.project.ProjectRequest;
+import com.dornaz.taskflowbackend.dto.project.ProjectResponse;
+import com.dornaz.taskflowbackend.model.Project;
+import com.dornaz.taskflowbackend.model.ProjectMember;
+import com.dornaz.taskflowbackend.model.ProjectRole;
+import com.dornaz.taskflowbackend.model.ProjectStatus;
+import com.dornaz.taskflowbackend.model.User;
+import com.dornaz.taskflowbackend.repository.ProjectMemberRepository;
+import com.dornaz.taskflowbackend.repository.ProjectRepository;
+import com.dornaz.taskflowbackend.repository.SparseFieldRepository;
+import com.dornaz.taskflowbackend.repository.UserRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Project and membership reads and writes behind {@code ProjectController}.
+ * Same rules as {@link TaskService}: one transaction per call, DTOs built
+ * inside it, owners fetched with the project (see
+ * {@link ProjectRepository#findWithOwnerById}).
+ */
+@Service
+public class ProjectService {
+
+    // fields=... on project lists: JSON name -> attribute each is read from
+    private static final Map<String, String> PROJECT_COLUMNS = Map.of(
+            "id", "id", "name", "name", "description", "description", "status", "status", "dueDate", "dueDate",
+            "ownerId", "owner.id", "ownerEmail", "owner.email", "createdAt", "createdAt", "updatedAt", "updatedAt",
+            "version", "version"
+    );
+
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Cache projectCache;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final ProjectAnalyticsService projectAnalyticsService;
+    private final ProjectMemberRepository projectMemberRepository;
+    private final ProjectAccessService projectAccessService;
+    private final AuditLog auditLog;
+    private final TransactionTemplate primaryTransaction;
+
+    public ProjectService(ProjectRepository projectRepository,
+                          UserRepository userRepository,
+                          CacheInvalidationBus cacheInvalidationBus,
+                          CacheManager cacheManager,
+                          SparseFieldRepository sparseFieldRepository,
+                          ProjectAnalyticsService projectAnalyticsService,
+                          ProjectMemberRepository projectMemberRepository,
+                          ProjectAccessService projectAccessService,
+                          AuditLog auditLog,
+                          PlatformTransactionManager transactionManager) {
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.projectCache = cacheManager.getCache(CacheNames.PROJECTS);
+        this.sparseFieldRepository = sparseFieldRepository;
+        this.projectAnalyticsService = projectAnalyticsService;
+        this.projectMemberRepository = projectMemberRepository;
+        this.projectAccessService = projectAccessService;
+        this.auditLog = auditLog;
+        // not read-only, so it routes to the primary: what goes into the cache must not lag
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // ---------- projects ----------
+
+    @Transactional
+    public ProjectResponse createProject(ProjectRequest request, User currentUser) {
+        Project project = new Project();
+        applyRequestToProject(request, project);
+        project.setOwner(currentUser);
+
+        Project saved = projectRepository.save(project);
+        projectAccessService.evict(currentUser.getId());
+        return toResponse(saved);
+    }
+
+    /** Owned and shared projects; {@code selection} (fields=...) selects only those columns. */
+    @Transactional(readOnly = true)
+    public PagedResponse<?> getMyProjects(int page, int size, String sortBy, String direction,
+                                          FieldSelection selection, User currentUser) {
+        Sort.Direction dir;
+        try {
+            dir = Sort.Direction.fromString(direction);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "direction must be asc or desc");
+        }
+
+        Pageable pageable = PageRequest.of(
+                Math.max(page, 0),
+                Math.min(Math.max(size, 1), 50),
+                Sort.by(dir, sortBy)
+        );
+
+        List<Long> projectIds = projectAccessService.membershipsOf(currentUser.getId()).projectIds();
+        if (projectIds.isEmpty()) {
+            return toPagedResponse(Page.empty(pageable));
+        }
+
+        if (selection != null) {
+            List<String> names = selection.intersect(PROJECT_COLUMNS.keySet());
+            List<String> paths = names.stream().map(PROJECT_COLUMNS::get).toList();
+            Page<Map<String, Object>> rows = sparseFieldRepository.findFields(
+                    Project.class, paths, "id", projectIds, pageable);
+
+            return toPagedResponse(rows.map(row -> renameColumns(row, names)));
+        }
+
+        Page<Project> projectPage = projectRepository.findByIdIn(projectIds, pageable);
+
+        return toPagedResponse(projectPage.map(this::toResponse));
+    }
+
+    /**
+     * Cached per instance; every node evicts on writes via the invalidation bus.
+     * Not transactional itself: a cache hit never takes a connection, and a miss
+     * reads the primary, so a lagging replica can't refill the cache with the
+     * state from before the write that evicted it.
+     */
+    public ProjectResponse getProject(Long id, User currentUser) {
+        if (projectAccessService.roleIn(currentUser.getId(), id) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found");
+        }
+        ProjectResponse cached = projectCache.get(id, ProjectResponse.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        ProjectResponse response = primaryTransaction.execute(status ->
+                toResponse(findProjectWithRole(id, currentUser, ProjectRole.VIEWER)));
+        projectCache.put(id, response);
+        return response;
+    }
+
+    /** Burndown / throughput / cycle time, read from the daily rollups. */
+    @Transactional(readOnly = true)
+    public ProjectAnalyticsResponse getAnalytics(Long id, LocalDate start, LocalDate end, User currentUser) {
+        Project project = findProjectWithRole(id, currentUser, ProjectRole.VIEWER);
+        return projectAnalyticsService.getAnalytics(project.getId(), start, end);
+    }
+
+    @Transactional
+    public ProjectResponse updateProject(Long id, ProjectRequest request, User currentUser) {
+        Project project = findProjectWithRole(id, currentUser, ProjectRole.ADMIN);
+
+        // the client edited an older copy: 409 rather than overwrite (races until commit hit @Version)
+        if (request.getVersion() != null && !request.getVersion().equals(project.getVersion())) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT, "Project was changed by someone else (now version " + project.getVersion() + ")"
+            );
+        }
+
+        applyRequestToProject(request, project);
+        Project updated = projectRepository.saveAndFlush(project); // flushed: the response carries the new version
+        cacheInvalidationBus.publish(CacheNames.PROJECTS, updated.getId());
+        return toResponse(updated);
+    }
+
+    /** Soft delete: tasks, members and history stay until SoftDeletePurger removes them. */
+    @Transactional
+    public void deleteProject(Long id, User currentUser) {
+        Project project = findProjectWithRole(id, currentUser, ProjectRole.OWNER);
+
+        project.setDeletedAt(Instant.now());
+        projectRepository.save(project);
+        cacheInvalidationBus.publish(CacheNames.PROJECTS, project.getId());
+        cacheInvalidationBus.publish(CacheNames.TASK_GRAPHS, project.getId());
+
+        // everyone who could see the project loses it from their membership set
+        projectMemberRepository.findUserIdsByProjectId(project.getId()).forEach(projectAccessService::evict);
+        projectAccessService.evict(currentUser.getId());
+    }
+
+    /** Undoes a delete within the retention period (owner only). */
+    @Transactional
+    public ProjectResponse restoreProject(Long id, User currentUser) {
+        Long ownerId = projectRepository.findDeletedProjectOwnerId(id)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Deleted project not found"
+                ));
+        if (!ownerId.equals(currentUser.getId())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Deleted project not found");
+        }
+
+        projectRepository.restore(id, Instant.now());
+        auditLog.record(new AuditEvent("PROJECT", id, id, AuditAction.RESTORE,
+                null, currentUser.getEmail(), Instant.now()));
+
+        projectMemberRepository.findUserIdsByProjectId(id).forEach(projectAccessService::evict);
+        projectAccessService.evict(currentUser.getId());
+
+        return toResponse(projectRepository.findWithOwnerById(id).orElseThrow());
+    }
+
+    // ---------- members ----------
+
+    /** Owner first, then collaborators in the order they were added. */
+    @Transactional(readOnly = true)
+    public List<ProjectMemberResponse> getMembers(Long id, User currentUser) {
+        Project project = findProjectWithRole(id, currentUser, ProjectRole.VIEWER);
+
+        List<ProjectMemberResponse> members = new ArrayList<>();
+        User owner = project.getOwner();
+        members.add(new ProjectMemberResponse(owner.getId(), owner.getUsername(), owner.getEmail(), ProjectRole.OWNER.name()));
+        projectMemberRepository.findByProjectIdWithUser(project.getId()).stream()
+                .map(this::toMemberResponse)
+                .forEach(members::add);
+        return members;
+    }
+
+    /** Adds a collaborator, or changes their role. */
+    @Transactional
+    public ProjectMemberResponse putMember(Long id, ProjectMemberRequest request, User currentUser) {
+        Project project = findProjectWithRole(id, currentUser, ProjectRole.ADMIN);
+
+        ProjectRole role;
+        try {
+            role = ProjectRole.valueOf(request.getRole());
+        } catch (IllegalArgumentException ex) {
+            role = null;
+        }
+        if (role == null || role == ProjectRole.OWNER) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Invalid role. Allowed: VIEWER, EDITOR, ADMIN"
+            );
+        }
+
+        User user = userRepository.findByEmailIgnoreCase(request.getEmail())
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "User not found"
+                ));
+        if (user.getId().equals(project.getOwner().getId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The owner is already a member");
+        }
+
+        ProjectMember member = projectMemberRepository.findByProjectIdAndUserId(project.getId(), user.getId())
+                .orElseGet(() -> {
+                    ProjectMember created = new ProjectMember();
+                    created.setProject(project);
+                    created.setUser(user);
+                    return created;
+                });
+        member.setRole(role);
+        ProjectMember saved = projectMemberRepository.save(member);
+        projectAccessService.evict(user.getId());
+        return toMemberResponse(saved);
+    }
+
+    /** Admins remove anyone; members may always remove themselves. */
+    @Transactional
+    public void removeMember(Long id, Long userId, User currentUser) {
+        ProjectRole required = userId.equals(currentUser.getId()) ? ProjectRole.VIEWER : ProjectRole.ADMIN;
+        Project project = findProjectWithRole(id, currentUser, required);
+
+        ProjectMember member = projectMemberRepository.findByProjectIdAndUserId(project.getId(), userId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Member not found"
+                ));
+
+        projectMemberRepository.delete(member);
+        projectAccessService.evict(userId);
+    }
+
+    // ---------- helpers ----------
+
+    /**
+     * The caller's role is checked against the membership cache before the
+     * project is loaded. Non-members get 404, as if the project did not exist.
+     */
+    private Project findProjectWithRole(Long id, User user, ProjectRole required) {
+        ProjectRole role = projectAccessService.roleIn(user.getId(), id);
+        if (role == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found");
+        }
+        if (!role.includes(required)) {
+            throw new ResponseStatusException(
+                    HttpStatus.FORBIDDEN, "Requires " + required.name() + " role in this project"
+            );
+        }
+        return projectRepository.findWithOwnerById(id)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Project not found"
+                ));
+    }
+
+    private ProjectResponse toResponse(Project project) {
+        ProjectResponse dto = new ProjectResponse();
+        dto.setId(project.getId());
+        dto.setName(project.getName());
+        dto.setDescription(project.getDescription());
+        dto.setStatus(project.getStatus() != null ? project.getStatus().name() : null);
+        dto.setDueDate(project.getDueDate());
+
+        if (project.getOwner() != null) {
+            dto.setOwnerId(project.getOwner().getId());
+            dto.setOwnerEmail(project.getOwner().getEmail());
+        }
+
+        dto.setCreatedAt(project.getCreatedAt());
+        dto.setUpdatedAt(project.getUpdatedAt());
+        dto.setVersion(project.getVersion());
+        return dto;
+    }
+
+    // rows come back keyed by attribute path ("owner.id"), responses use the JSON names
+    private Map<String, Object> renameColumns(Map<String, Object> row, List<String> names) {
+        Map<String, Object> renamed = new LinkedHashMap<>();
+        for (String name : names) {
+            renamed.put(name, row.get(PROJECT_COLUMNS.get(name)));
+        }
+        return renamed;
+    }
+
+    private ProjectMemberResponse toMemberResponse(ProjectMember member) {
+        User user = member.getUser();
+        return new ProjectMemberResponse(user.getId(), user.getUsername(), user.getEmail(), member.getRole().name());
+    }
+
+    private <T> PagedResponse<T> toPagedResponse(Page<T> page) {
+        return new PagedResponse<>(
+                page.getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isLast()
+        );
+    }
+
+    private void applyRequestToProject(ProjectRequest request, Project project) {
+        project.setName(request.getName());
+        project.setDescription(request.getDescription());
+        project.setDueDate(request.getDueDate());
+
+        if (request.getStatus() != null) {
+            try {
+                project.setStatus(ProjectStatus.valueOf(request.getStatus()));
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "Invalid status: " + request.getStatus()
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.dornaz.taskflowbackend.service;
+
+import com.dornaz.taskflowbackend.repository.ArchivedTaskRepository;
+import com.dornaz.taskflowbackend.repository.ProjectDailyStatsRepository;
+import com.dornaz.taskflowbackend.repository.ProjectMemberRepository;
+import com.dornaz.taskflowbackend.repository.TaskDependencyRepository;
+import com.dornaz.taskflowbackend.repository.TaskStatusTransitionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Hard-deletes soft-deleted tasks and projects once they are older than the
+ * retention period (until then they can be restored). Small batches, one per
+ * transaction, so a purge never holds many row locks or rewrites much of an
+ * index at once. A purged project takes its tasks, members and history with it.
+ */
+@Component
+public class SoftDeletePurger {
+
+    // SKIP LOCKED stays out of the way of a concurrent restore. A soft delete keeps the
+    // task's dependency edges (a restore brings them back); they go with the row here
+    private static final String PURGE_TASKS_SQL = """
+            with purged as (
+                delete from tasks
+                where id in (
+                    select id from tasks
+                    where deleted_at < ?
+                    order by deleted_at
+                    limit ?
+                    for update skip locked
+                )
+                returning id
+            ), edges as (
+                delete from task_dependencies d
+                using purged p
+                where d.blocker_task_id = p.id or d.blocked_task_id = p.id
+            )
+            select count(*) from purged
+            """;
+
+    private static final String EXPIRED_PROJECTS_SQL = """
+            select id from projects where deleted_at < ? order by deleted_at limit ?
+            """;
+
+    // re-checks the project on every batch: a restore in between stops the purge
+    private static final String PURGE_PROJECT_TASKS_SQL = """
+            delete from tasks
+            where id in (
+                select t.id from tasks t
+                where t.project_id = ?
+                  and exists (select 1 from projects p where p.id = t.project_id and p.deleted_at < ?)
+                limit ?
+            )
+            """;
+
+    private static final String PURGE_PROJECT_SQL = """
+            delete from projects where id = ? and deleted_at < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskStatusTransitionRepository taskStatusTransitionRepository;
+    private final ProjectDailyStatsRepository projectDailyStatsRepository;
+    private final TaskDependencyRepository taskDependencyRepository;
+    private final ProjectMemberRepository projectMemberRepository;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public SoftDeletePurger(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            ArchivedTaskRepository archivedTaskRepository,
+                            TaskStatusTransitionRepository taskStatusTransitionRepository,
+                            ProjectDailyStatsRepository projectDailyStatsRepository,
+                            TaskDependencyRepository taskDependencyRepository,
+                            ProjectMemberRepository projectMemberRepository,
+                            @Value("${purge.retention-days:30}") long retentionDays,
+                            @Value("${purge.batch-size:500}") int batchSize,
+                            @Value("${purge.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.taskStatusTransitionRepository = taskStatusTransitionRepository;
+        this.projectDailyStatsRepository = projectDailyStatsRepository;
+        this.taskDependencyRepository = taskDependencyRepository;
+        this.projectMemberRepository = projectMemberRepository;
+        this.retention = Duration.ofDays(retentionDays);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${purge.interval-ms:3600000}")
+    public void purgeExpired() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(retention));
+
+        int batches = purgeTasks(cutoff, maxBatchesPerRun);
+        if (batches < maxBatchesPerRun) {
+            purgeProjects(cutoff, maxBatchesPerRun - batches);
+        }
+    }
+
+    /** @return batches used */
+    private int purgeTasks(Timestamp cutoff, int maxBatches) {
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer purged = transactionTemplate.execute(status ->
+                    jdbcTemplate.queryForObject(PURGE_TASKS_SQL, Integer.class, cutoff, batchSize));
+            if (purged == null || purged < batchSize) {
+                return batch + 1;
+            }
+        }
+        return maxBatches;
+    }
+
+    private void purgeProjects(Timestamp cutoff, int maxBatches) {
+        List<Long> projectIds = jdbcTemplate.queryForList(EXPIRED_PROJECTS_SQL, Long.class, cutoff, batchSize);
+        int batches = 0;
+        for (Long projectId : projectIds) {
+            // the project's tasks first, deleted or not, in batches
+            while (true) {
+                if (batches++ >= maxBatches) {
+                    return; // the rest of this project goes next run
+                }
+                Integer purged = transactionTemplate.execute(status ->
+                        jdbcTemplate.update(PURGE_PROJECT_TASKS_SQL, projectId, cutoff, batchSize));
+                if (purged == null || purged < batchSize) {
+                    break;
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                archivedTaskRepository.deleteByProjectId(projectId);
+                taskStatusTransitionRepository.deleteByProjectId(projectId);
+                projectDailyStatsRepository.deleteByProjectId(projectId);
+                taskDependencyRepository.deleteByProjectId(projectId);
+                projectMemberRepository.deleteByProjectId(projectId);
+                if (jdbcTemplate.update(PURGE_PROJECT_SQL, projectId, cutoff) == 0) {
+                    status.setRollbackOnly(); // restored meanwhile: keep its members and history
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.dornaz.taskflowbackend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Moves tasks that have been DONE for a while from {@code tasks} into
+ * {@code tasks_archive}, one small batch per transaction, so the hot table
+ * and its indexes only hold the working set. A tombstone is written for each
+ * moved task so delta-sync clients drop it as well.
+ */
+@Component
+public class TaskArchiver {
+
+    // delete + tombstone + archive insert in one statement; SKIP LOCKED stays out of the way of live edits
+    private static final String ARCHIVE_BATCH_SQL = """
+            with moved as (
+                delete from tasks
+                where id in (
+                    select id from tasks
+                    where status = 'DONE' and updated_at < ? and deleted_at is null
+                    order by updated_at
+                    limit ?
+                    for update skip locked
+                )
+                returning id, title, description, status, due_date, priority, rank,
+                          project_id, created_at, updated_at
+            ), tombstones as (
+                insert into task_tombstones (task_id, project_id, deleted_at)
+                select id, project_id, clock_timestamp() from moved
+            )
+            insert into tasks_archive (id, title, description, status, due_date, priority, rank,
+                                       project_id, created_at, updated_at, archived_at)
+            select id, title, description, status, due_date, priority, rank,
+                   project_id, created_at, updated_at, clock_timestamp()
+            from moved
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public TaskArchiver(JdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${tasks.archive.after-days:90}") long archiveAfterDays,
+                        @Value("${tasks.archive.batch-size:500}") int batchSize,
+                        @Value("${tasks.archive.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveAfter = Duration.ofDays(archiveAfterDays);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.archive.interval-ms:3600000}")
+    public void archiveDoneTasks() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(archiveAfter));
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = transactionTemplate.execute(status ->
+                    jdbcTemplate.update(ARCHIVE_BATCH_SQL, cutoff, batchSize));
+            if (moved == null || moved < batchSize) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.dornaz.taskflowbackend.service;
+
+import com.dornaz.taskflowbackend.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Immutable dependency graph of one project in primitive arrays: nodes are
+ * indexes into {@code ids} (sorted), edges are stored twice in CSR form
+ * (blocker -> blocked and blocked -> blockers). The topological order and the
+ * unblocked set are computed once at build time; the critical path depends on
+ * "today" and is recomputed per call in O(V + E). Title, status and due-date
+ * edits make a patched copy ({@link #withNodes}) that shares the edges.
+ */
+public final class TaskGraph {
+
+    private static final int NO_DUE_DATE = Integer.MIN_VALUE;
+    private static final long UNCONSTRAINED = Long.MAX_VALUE / 4;
+
+    private final long[] ids;
+    private final String[] titles;
+    private final boolean[] done;
+    private final int[] dueDays; // epoch day or NO_DUE_DATE
+
+    private final int[] outStart;
+    private final int[] outEdges;
+    private final int[] inStart;
+    private final int[] inEdges;
+
+    private final int[] topologicalOrder; // nodes on a cycle are left out
+    private final int[] unblocked;
+
+    /** Critical path (open tasks, first to last) and its slack in days, null when no due date constrains it. */
+    public record CriticalPath(int[] nodes, Long slackDays) {
+    }
+
+    private TaskGraph(long[] ids, String[] titles, boolean[] done, int[] dueDays,
+                      int[] outStart, int[] outEdges, int[] inStart, int[] inEdges, int[] topologicalOrder) {
+        this.ids = ids;
+        this.titles = titles;
+        this.done = done;
+        this.dueDays = dueDays;
+        this.outStart = outStart;
+        this.outEdges = outEdges;
+        this.inStart = inStart;
+        this.inEdges = inEdges;
+        this.topologicalOrder = topologicalOrder != null ? topologicalOrder : computeTopologicalOrder();
+        this.unblocked = computeUnblocked();
+    }
+
+    /**
+     * @param nodeIds      task ids; titles/statuses/dueDates are parallel to it
+     * @param edgeBlockers edge sources, parallel to {@code edgeBlocked}; edges
+     *                     touching unknown ids (deleted or archived tasks) are dropped
+     */
+    public static TaskGraph build(long[] nodeIds, String[] nodeTitles, TaskStatus[] nodeStatuses, LocalDate[] nodeDueDates,
+                                  long[] edgeBlockers, long[] edgeBlocked) {
+        int n = nodeIds.length;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(nodeIds[a], nodeIds[b]));
+
+        long[] ids = new long[n];
+        String[] titles = new String[n];
+        boolean[] done = new boolean[n];
+        int[] dueDays = new int[n];
+        for (int i = 0; i < n; i++) {
+            int src = order[i];
+            ids[i] = nodeIds[src];
+            titles[i] = nodeTitles[src];
+            done[i] = nodeStatuses[src] == TaskStatus.DONE;
+            dueDays[i] = dueDay(nodeDueDates[src]);
+        }
+
+        int m = edgeBlockers.length;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int kept = 0;
+        for (int e = 0; e < m; e++) {
+            int u = Arrays.binarySearch(ids, edgeBlockers[e]);
+            int v = Arrays.binarySearch(ids, edgeBlocked[e]);
+            if (u >= 0 && v >= 0) {
+                from[kept] = u;
+                to[kept] = v;
+                kept++;
+            }
+        }
+
+        int[] outStart = new int[n + 1];
+        int[] inStart = new int[n + 1];
+        for (int e = 0; e < kept; e++) {
+            outStart[from[e] + 1]++;
+            inStart[to[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            outStart[i + 1] += outStart[i];
+            inStart[i + 1] += inStart[i];
+        }
+        int[] outEdges = new int[kept];
+        int[] inEdges = new int[kept];
+        int[] outFill = Arrays.copyOf(outStart, n);
+        int[] inFill = Arrays.copyOf(inStart, n);
+        for (int e = 0; e < kept; e++) {
+            outEdges[outFill[from[e]]++] = to[e];
+            inEdges[inFill[to[e]]++] = from[e];
+        }
+
+        return new TaskGraph(ids, titles, done, dueDays, outStart, outEdges, inStart, inEdges, null);
+    }
+
+    /**
+     * Copy with new titles / statuses / due dates for the given tasks (parallel
+     * arrays as in {@link #build}); ids that are not nodes here are ignored.
+     * Edges and the topological order are shared, the unblocked set is recomputed.
+     */
+    public TaskGraph withNodes(long[] nodeIds, String[] nodeTitles, TaskStatus[] nodeStatuses, LocalDate[] nodeDueDates) {
+        String[] patchedTitles = titles.clone();
+        boolean[] patchedDone = done.clone();
+        int[] patchedDueDays = dueDays.clone();
+        for (int i = 0; i < nodeIds.length; i++) {
+            int v = Arrays.binarySearch(ids, nodeIds[i]);
+            if (v < 0) continue;
+            patchedTitles[v] = nodeTitles[i];
+            patchedDone[v] = nodeStatuses[i] == TaskStatus.DONE;
+            patchedDueDays[v] = dueDay(nodeDueDates[i]);
+        }
+        return new TaskGraph(ids, patchedTitles, patchedDone, patchedDueDays,
+                outStart, outEdges, inStart, inEdges, topologicalOrder);
+    }
+
+    public int nodeCount() { return ids.length; }
+    public int edgeCount() { return outEdges.length; }
+    public boolean hasCycle() { return topologicalOrder.length < ids.length; }
+
+    public long id(int node) { return ids[node]; }
+    public String title(int node) { return titles[node]; }
+    public boolean isDone(int node) { return done[node]; }
+
+    public LocalDate dueDate(int node) {
+        return dueDays[node] == NO_DUE_DATE ? null : LocalDate.ofEpochDay(dueDays[node]);
+    }
+
+    public int[] topologicalOrder() { return topologicalOrder.clone(); }
+    public int[] unblocked() { return unblocked.clone(); }
+
+    /**
+     * CPM with one day per open task (DONE tasks take none), starting today:
+     * earliest finish runs forward over the topological order, latest finish
+     * runs backward from the due dates. The path ends at the open task with
+     * the least slack (most days of work if nothing has a due date) and walks
+     * back through blockers that finish exactly when it can start.
+     */
+    public CriticalPath criticalPath(LocalDate today) {
+        int n = ids.length;
+        long todayDay = today.toEpochDay();
+        long[] earliestFinish = new long[n];
+        long[] latestFinish = new long[n];
+
+        for (int v : topologicalOrder) {
+            long start = 0;
+            for (int e = inStart[v]; e < inStart[v + 1]; e++) {
+                start = Math.max(start, earliestFinish[inEdges[e]]);
+            }
+            earliestFinish[v] = start + duration(v);
+        }
+        for (int i = topologicalOrder.length - 1; i >= 0; i--) {
+            int v = topologicalOrder[i];
+            long latest = dueDays[v] == NO_DUE_DATE ? UNCONSTRAINED : dueDays[v] - todayDay;
+            for (int e = outStart[v]; e < outStart[v + 1]; e++) {
+                int w = outEdges[e];
+                latest = Math.min(latest, latestFinish[w] - duration(w));
+            }
+            latestFinish[v] = latest;
+        }
+
+        int end = -1;
+        for (int v : topologicalOrder) {
+            if (done[v]) continue;
+            if (end < 0 || isMoreCritical(v, end, earliestFinish, latestFinish)) {
+                end = v;
+            }
+        }
+        if (end < 0) {
+            return new CriticalPath(new int[0], null);
+        }
+
+        int[] path = new int[n];
+        int length = 0;
+        int v = end;
+        while (v >= 0) {
+            if (!done[v]) path[length++] = v;
+            long start = earliestFinish[v] - duration(v);
+            int next = -1;
+            if (start > 0) {
+                for (int e = inStart[v]; e < inStart[v + 1]; e++) {
+                    int u = inEdges[e];
+                    if (earliestFinish[u] == start
+                            && (next < 0 || slack(u, earliestFinish, latestFinish) < slack(next, earliestFinish, latestFinish))) {
+                        next = u;
+                    }
+                }
+            }
+            v = next;
+        }
+
+        int[] nodes = new int[length];
+        for (int i = 0; i < length; i++) {
+            nodes[i] = path[length - 1 - i];
+        }
+        long endSlack = slack(end, earliestFinish, latestFinish);
+        return new CriticalPath(nodes, latestFinish[end] >= UNCONSTRAINED / 2 ? null : endSlack);
+    }
+
+    private boolean isMoreCritical(int v, int best, long[] earliestFinish, long[] latestFinish) {
+        long sv = slack(v, earliestFinish, latestFinish);
+        long sb = slack(best, earliestFinish, latestFinish);
+        if (sv != sb) return sv < sb;
+        return earliestFinish[v] > earliestFinish[best];
+    }
+
+    private static long slack(int v, long[] earliestFinish, long[] latestFinish) {
+        return latestFinish[v] - earliestFinish[v];
+    }
+
+    private static int dueDay(LocalDate dueDate) {
+        return dueDate != null ? (int) dueDate.toEpochDay() : NO_DUE_DATE;
+    }
+
+    private int duration(int v) {
+        return done[v] ? 0 : 1;
+    }
+
+    // Kahn's algorithm, FIFO seeded in id order
+    private int[] computeTopologicalOrder() {
+        int n = ids.length;
+        int[] inDegree = new int[n];
+        for (int v = 0; v < n; v++) {
+            inDegree[v] = inStart[v + 1] - inStart[v];
+        }
+
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) queue[tail++] = v;
+        }
+        while (head < tail) {
+            int v = queue[head++];
+            for (int e = outStart[v]; e < outStart[v + 1]; e++) {
+                int w = outEdges[e];
+                if (--inDegree[w] == 0) queue[tail++] = w;
+            }
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+
+    // open tasks whose blockers are all DONE (or gone)
+    private int[] computeUnblocked() {
+        int n = ids.length;
+        int[] result = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (done[v]) continue;
+            boolean free = true;
+            for (int e = inStart[v]; e < inStart[v + 1] && free; e++) {
+                free = done[inEdges[e]];
+            }
+            if (free) result[count++] = v;
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,227 @@
+package com.dornaz.taskflowbackend.service;
+
+import com.dornaz.taskflowbackend.cache.CacheInvalidationBus;
+import com.dornaz.taskflowbackend.cache.CacheNames;
+import com.dornaz.taskflowbackend.dto.task.DependencyGraphResponse;
+import com.dornaz.taskflowbackend.dto.task.DependencyNodeResponse;
+import com.dornaz.taskflowbackend.model.Task;
+import com.dornaz.taskflowbackend.model.TaskDependency;
+import com.dornaz.taskflowbackend.model.TaskStatus;
+import com.dornaz.taskflowbackend.repository.TaskDependencyRepository;
+import com.dornaz.taskflowbackend.repository.TaskDependencyRepository.Edge;
+import com.dornaz.taskflowbackend.repository.TaskRepository;
+import com.dornaz.taskflowbackend.repository.TaskRepository.GraphNode;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Blocks / blocked-by links between tasks. Each project's graph is built
+ * once into a {@link TaskGraph} and kept in the {@link CacheNames#TASK_GRAPHS}
+ * cache. Edge changes and tasks appearing or disappearing evict just that
+ * project, on every instance, through the {@link CacheInvalidationBus}. A
+ * title, status or due-date edit only marks the task: the next read re-reads
+ * the marked rows and caches a patched copy of the graph.
+ *
+ * Graphs are built and patched on the primary, outside the caller's
+ * transaction: a replica lagging behind the write that evicted the graph would
+ * otherwise cache the old state until the entry expires.
+ */
+@Service
+public class TaskGraphService {
+
+    private final TaskRepository taskRepository;
+    private final TaskDependencyRepository taskDependencyRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Cache graphCache;
+    private final TransactionTemplate primaryTransaction;
+
+    // project id -> tasks edited since their graph was cached; filled by the bus on every instance
+    private final Map<Long, Set<Long>> changedNodes = new ConcurrentHashMap<>();
+
+    public TaskGraphService(TaskRepository taskRepository,
+                            TaskDependencyRepository taskDependencyRepository,
+                            CacheInvalidationBus cacheInvalidationBus,
+                            CacheManager cacheManager,
+                            PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.taskDependencyRepository = taskDependencyRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.graphCache = cacheManager.getCache(CacheNames.TASK_GRAPHS);
+        // not read-only, so it routes to the primary
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        cacheInvalidationBus.subscribe(CacheNames.TASK_GRAPH_NODES, this::markChanged);
+    }
+
+    /** Both tasks must already be checked to be in the same, accessible project. */
+    @Transactional
+    public void addDependency(Task blocker, Task blocked) {
+        if (blocker.getId().equals(blocked.getId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A task cannot block itself");
+        }
+        Long projectId = blocked.getProject().getId();
+
+        // the reachability check and the insert must not interleave with another insert
+        taskRepository.lockProjectStructure(projectId);
+        if (taskDependencyRepository.existsByBlockerTaskIdAndBlockedTaskId(blocker.getId(), blocked.getId())) {
+            return;
+        }
+        if (taskDependencyRepository.isReachable(blocked.getId(), blocker.getId())) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT, "Task " + blocked.getId() + " already blocks task " + blocker.getId() + " (cycle)"
+            );
+        }
+
+        taskDependencyRepository.save(new TaskDependency(projectId, blocker.getId(), blocked.getId()));
+        invalidate(projectId);
+    }
+
+    @Transactional
+    public boolean removeDependency(Long projectId, Long blockerId, Long blockedId) {
+        boolean removed = taskDependencyRepository.deleteEdge(blockerId, blockedId) > 0;
+        if (removed) {
+            invalidate(projectId);
+        }
+        return removed;
+    }
+
+    /** A task was created, deleted or restored: the node set changed. */
+    public void invalidate(Long projectId) {
+        cacheInvalidationBus.publish(CacheNames.TASK_GRAPHS, projectId);
+    }
+
+    /** Title, status or due date of a task changed: its node is patched on the next read. */
+    public void nodeChanged(Long projectId, Long taskId) {
+        cacheInvalidationBus.publish(CacheNames.TASK_GRAPH_NODES, projectId + "/" + taskId);
+    }
+
+    /** Call outside a transaction; inside one the cache is read but never filled. */
+    public TaskGraph getGraph(Long projectId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // the caller's connection may be a replica's
+            TaskGraph cached = graphCache.get(projectId, TaskGraph.class);
+            return cached != null && !changedNodes.containsKey(projectId) ? cached : load(projectId);
+        }
+        TaskGraph graph = graphCache.get(projectId, () -> loadOnPrimary(projectId));
+        if (!changedNodes.containsKey(projectId)) {
+            return graph;
+        }
+        // one patcher at a time, so two reads never each patch a copy and cache the other's loss
+        synchronized (changedNodes) {
+            Set<Long> taskIds = changedNodes.remove(projectId);
+            if (taskIds == null) {
+                return graphCache.get(projectId, () -> loadOnPrimary(projectId));
+            }
+            graph = graphCache.get(projectId, () -> loadOnPrimary(projectId));
+            List<GraphNode> nodes = primaryTransaction.execute(status -> taskRepository.findGraphNodesByIdIn(taskIds));
+            TaskGraph patched = patch(graph, nodes);
+            graphCache.put(projectId, patched);
+            return patched;
+        }
+    }
+
+    public DependencyGraphResponse describe(Long projectId) {
+        TaskGraph graph = getGraph(projectId);
+        TaskGraph.CriticalPath criticalPath = graph.criticalPath(LocalDate.now(ZoneOffset.UTC));
+
+        int[] order = graph.topologicalOrder();
+        List<Long> orderIds = new ArrayList<>(order.length);
+        for (int node : order) {
+            orderIds.add(graph.id(node));
+        }
+
+        return new DependencyGraphResponse(
+                projectId,
+                graph.nodeCount(),
+                graph.edgeCount(),
+                graph.hasCycle(),
+                orderIds,
+                toNodes(graph, criticalPath.nodes()),
+                criticalPath.slackDays(),
+                toNodes(graph, graph.unblocked())
+        );
+    }
+
+    // the published id is "<projectId>/<taskId>"
+    private void markChanged(String id) {
+        int sep = id.indexOf('/');
+        if (sep <= 0) {
+            return;
+        }
+        try {
+            Long projectId = Long.valueOf(id.substring(0, sep));
+            Long taskId = Long.valueOf(id.substring(sep + 1));
+            changedNodes.computeIfAbsent(projectId, k -> ConcurrentHashMap.newKeySet()).add(taskId);
+        } catch (NumberFormatException ignored) {
+            // not ours
+        }
+    }
+
+    private static TaskGraph patch(TaskGraph graph, List<GraphNode> nodes) {
+        int n = nodes.size();
+        long[] ids = new long[n];
+        String[] titles = new String[n];
+        TaskStatus[] statuses = new TaskStatus[n];
+        LocalDate[] dueDates = new LocalDate[n];
+        for (int i = 0; i < n; i++) {
+            GraphNode node = nodes.get(i);
+            ids[i] = node.getId();
+            titles[i] = node.getTitle();
+            statuses[i] = node.getStatus();
+            dueDates[i] = node.getDueDate();
+        }
+        return graph.withNodes(ids, titles, statuses, dueDates);
+    }
+
+    private TaskGraph loadOnPrimary(Long projectId) {
+        return primaryTransaction.execute(status -> load(projectId));
+    }
+
+    private TaskGraph load(Long projectId) {
+        List<GraphNode> nodes = taskRepository.findGraphNodes(projectId);
+        int n = nodes.size();
+        long[] ids = new long[n];
+        String[] titles = new String[n];
+        TaskStatus[] statuses = new TaskStatus[n];
+        LocalDate[] dueDates = new LocalDate[n];
+        for (int i = 0; i < n; i++) {
+            GraphNode node = nodes.get(i);
+            ids[i] = node.getId();
+            titles[i] = node.getTitle();
+            statuses[i] = node.getStatus();
+            dueDates[i] = node.getDueDate();
+        }
+
+        List<Edge> edges = taskDependencyRepository.findByProjectId(projectId);
+        long[] blockers = new long[edges.size()];
+        long[] blocked = new long[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            blockers[i] = edges.get(i).getBlockerTaskId();
+            blocked[i] = edges.get(i).getBlockedTaskId();
+        }
+
+        return TaskGraph.build(ids, titles, statuses, dueDates, blockers, blocked);
+    }
+
+    private static List<DependencyNodeResponse> toNodes(TaskGraph graph, int[] nodes) {
+        List<DependencyNodeResponse> result = new ArrayList<>(nodes.length);
+        for (int node : nodes) {
+            result.add(new DependencyNodeResponse(graph.id(node), graph.title(node), graph.isDone(node), graph.dueDate(node)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,50 @@
+package com.dornaz.taskflowbackend.service;
+
+import com.dornaz.taskflowbackend.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Rewrites a project's ranks to short, evenly spaced values. Runs in the
+ * background for projects whose ranks grew long (many moves into the same gap)
+ * or that still have unranked tasks, and inline when a move hits duplicate ranks.
+ * One native UPDATE per project: the entities are never loaded, so respacing
+ * fires no entity callbacks (nor audit events), and it clears the caller's
+ * persistence context.
+ */
+@Component
+public class TaskRankRebalancer {
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRankLength;
+
+    public TaskRankRebalancer(TaskRepository taskRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${tasks.rank.rebalance-length:16}") int maxRankLength) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxRankLength = maxRankLength;
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.rank.rebalance-interval-ms:300000}")
+    public void rebalanceLongRanks() {
+        List<Long> projectIds = taskRepository.findProjectIdsNeedingRankRebalance(maxRankLength, PageRequest.of(0, 50));
+        projectIds.forEach(this::rebalance);
+    }
+
+    /** Joins the caller's transaction if there is one; managed tasks must be re-read afterwards. */
+    public void rebalance(Long projectId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            long count = taskRepository.countByProjectId(projectId);
+            List<String> ranks = TaskRanks.evenlySpaced((int) count);
+            taskRepository.respaceRanks(projectId, String.join(",", ranks), Instant.now());
+        });
+    }
+}
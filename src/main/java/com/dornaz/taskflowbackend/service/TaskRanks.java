@@ -0,0 +1,127 @@
+package com.dornaz.taskflowbackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexicographic ranks for manual task ordering.
+ *
+ * Ranks are base-36 strings ([0-9a-z], compared with the "C" collation) that
+ * never end in '0', so a rank can always be placed between two others by
+ * appending digits - a reorder rewrites only the moved row.
+ */
+public final class TaskRanks {
+
+    public static final int MAX_LENGTH = 64;
+
+    private static final String ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = ALPHABET.length();
+    private static final String MIDPOINT = "i";
+
+    // appends bump the 6th digit, leaving ~2 billion appends before a rank gets longer
+    private static final int APPEND_WIDTH = 6;
+
+    private TaskRanks() {
+    }
+
+    /** Rank strictly after {@code lo}; {@code null} means "empty list". */
+    public static String after(String lo) {
+        if (lo == null || lo.isEmpty()) {
+            return MIDPOINT;
+        }
+
+        char[] digits = new char[APPEND_WIDTH];
+        for (int i = 0; i < APPEND_WIDTH; i++) {
+            digits[i] = i < lo.length() ? lo.charAt(i) : '0';
+        }
+        for (int i = APPEND_WIDTH - 1; i >= 0; i--) {
+            int d = digit(digits[i]);
+            if (d < BASE - 1) {
+                digits[i] = ALPHABET.charAt(d + 1);
+                return stripTrailingZeros(new String(digits));
+            }
+            digits[i] = '0';
+        }
+        // first APPEND_WIDTH digits are all 'z'
+        return lo + MIDPOINT;
+    }
+
+    /**
+     * Rank strictly between {@code lo} and {@code hi}; {@code lo == null} means
+     * "before everything", {@code hi == null} means "after everything".
+     *
+     * @throws IllegalArgumentException if {@code lo >= hi} (e.g. duplicate ranks)
+     */
+    public static String between(String lo, String hi) {
+        if (hi == null) {
+            return after(lo);
+        }
+        String low = lo != null ? lo : "";
+        if (low.compareTo(hi) >= 0) {
+            throw new IllegalArgumentException("Ranks out of order: " + lo + " >= " + hi);
+        }
+
+        StringBuilder rank = new StringBuilder();
+        boolean bounded = true;
+        for (int i = 0; ; i++) {
+            int l = i < low.length() ? digit(low.charAt(i)) : 0;
+            int h = bounded && i < hi.length() ? digit(hi.charAt(i)) : BASE;
+            if (l == h) {
+                rank.append(ALPHABET.charAt(l));
+                continue;
+            }
+            int mid = (l + h) / 2;
+            if (mid > l) {
+                return rank.append(ALPHABET.charAt(mid)).toString();
+            }
+            // adjacent digits: keep l here; past this position nothing bounds us from above
+            rank.append(ALPHABET.charAt(l));
+            bounded = false;
+        }
+    }
+
+    /** {@code count} increasing, equally spaced ranks of the shortest sensible width. */
+    public static List<String> evenlySpaced(int count) {
+        int width = 1;
+        long space = BASE;
+        // leave at least BASE-1 free slots between neighbours for future moves
+        while (space / (count + 1L) < BASE) {
+            width++;
+            space *= BASE;
+        }
+
+        long step = space / (count + 1L);
+        List<String> ranks = new ArrayList<>(count);
+        for (int k = 1; k <= count; k++) {
+            ranks.add(stripTrailingZeros(encode(step * k, width)));
+        }
+        return ranks;
+    }
+
+    // ---------- helpers ----------
+
+    private static int digit(char c) {
+        int d = ALPHABET.indexOf(c);
+        if (d < 0) {
+            throw new IllegalArgumentException("Invalid rank character: " + c);
+        }
+        return d;
+    }
+
+    private static String encode(long value, int width) {
+        char[] digits = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = ALPHABET.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(digits);
+    }
+
+    private static String stripTrailingZeros(String rank) {
+        int end = rank.length();
+        while (end > 1 && rank.charAt(end - 1) == '0') {
+            end--;
+        }
+        return rank.substring(0, end);
+    }
+}
@@ -0,0 +1,993 @@
+package com.dornaz.taskflowbackend.service;
+
+import com.dornaz.taskflowbackend.audit.AuditAction;
+import com.dornaz.taskflowbackend.audit.AuditEvent;
+import com.dornaz.taskflowbackend.audit.AuditLog;
+import com.dornaz.taskflowbackend.dto.common.CursorPagedResponse;
+import com.dornaz.taskflowbackend.dto.common.FieldSelection;
+import com.dornaz.taskflowbackend.dto.common.PagedResponse;
+import com.dornaz.taskflowbackend.dto.task.BatchTasksResponse;
+import com.dornaz.taskflowbackend.dto.task.BoardColumnResponse;
+import com.dornaz.taskflowbackend.dto.task.BoardResponse;
+import com.dornaz.taskflowbackend.dto.task.DependencyGraphResponse;
+import com.dornaz.taskflowbackend.dto.task.MoveTaskRequest;
+import com.dornaz.taskflowbackend.dto.task.SubtreeResponse;
+import com.dornaz.taskflowbackend.dto.task.TaskChangesResponse;
+import com.dornaz.taskflowbackend.dto.task.TaskRequest;
+import com.dornaz.taskflowbackend.dto.task.TaskResponse;
+import com.dornaz.taskflowbackend.dto.task.TaskStatusRequest;
+import com.dornaz.taskflowbackend.dto.task.TaskStatusResponse;
+import com.dornaz.taskflowbackend.dto.task.TaskSuggestionResponse;
+import com.dornaz.taskflowbackend.model.Project;
+import com.dornaz.taskflowbackend.model.ProjectRole;
+import com.dornaz.taskflowbackend.model.Task;
+import com.dornaz.taskflowbackend.model.TaskRecord;
+import com.dornaz.taskflowbackend.model.TaskStatus;
+import com.dornaz.taskflowbackend.model.TaskTombstone;
+import com.dornaz.taskflowbackend.model.User;
+import com.dornaz.taskflowbackend.reminder.TaskReminderService;
+import com.dornaz.taskflowbackend.repository.ProjectRepository;
+import com.dornaz.taskflowbackend.repository.SparseFieldRepository;
+import com.dornaz.taskflowbackend.repository.TaskBoardRepository.BoardRow;
+import com.dornaz.taskflowbackend.repository.TaskBoardRepositoryImpl;
+import com.dornaz.taskflowbackend.repository.TaskRecordRepository;
+import com.dornaz.taskflowbackend.repository.TaskRepository;
+import com.dornaz.taskflowbackend.repository.TaskRepository.StatusRow;
+import com.dornaz.taskflowbackend.repository.TaskRepository.SubtreeStats;
+import com.dornaz.taskflowbackend.repository.TaskTombstoneRepository;
+import com.dornaz.taskflowbackend.service.ProjectAccessService.Memberships;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Task reads and writes behind {@code TaskController}. Every public method is
+ * one transaction (read-only for queries, so they may go to the replica) and
+ * returns DTOs built inside it: with open-in-view off nothing lazy is touched
+ * after the connection is returned, and the fetch plan of each read is the
+ * repository method's, not whatever the response mapping happens to load.
+ */
+@Service
+public class TaskService {
+
+    // rows can commit a little after their updatedAt was stamped; sync tokens
+    // never move closer to "now" than this so late commits are not skipped
+    private static final Duration SYNC_COMMIT_LAG = Duration.ofSeconds(2);
+
+    // agenda bounds: tasks without a due date sort after everything else
+    private static final LocalDate EARLIEST_DUE_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate NO_DUE_DATE = LocalDate.of(9999, 12, 31);
+
+    // batch get: ids per call, GET and POST alike
+    private static final int MAX_BATCH_IDS = 200;
+
+    // subtasks: nesting limit, and the most rows one move / delete may rewrite
+    private static final int MAX_TASK_DEPTH = 32;
+    private static final int MAX_SUBTREE_UPDATE = 5000;
+
+    // type-ahead: top-K per keystroke, and a cap on what a query can be
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_SEARCH_LENGTH = 100;
+
+    // status compare-and-set: re-reads after a lost race before answering 409
+    private static final int MAX_STATUS_ATTEMPTS = 3;
+
+    // fields=... on task lists: the subset of TaskResponse read from the row itself
+    private static final Set<String> TASK_COLUMNS = Set.of(
+            "id", "title", "description", "status", "dueDate", "priority", "rank", "parentId", "createdAt", "updatedAt",
+            "version"
+    );
+    private static final Set<String> TASK_RECORD_COLUMNS = Set.of(
+            "id", "title", "description", "status", "dueDate", "priority", "rank", "createdAt", "updatedAt", "archived"
+    );
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskRankRebalancer taskRankRebalancer;
+    private final TaskRecordRepository taskRecordRepository;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final ProjectAnalyticsService projectAnalyticsService;
+    private final TaskReminderService taskReminderService;
+    private final TaskGraphService taskGraphService;
+    private final ProjectAccessService projectAccessService;
+    private final AuditLog auditLog;
+
+    public TaskService(TaskRepository taskRepository,
+                       ProjectRepository projectRepository,
+                       TaskTombstoneRepository taskTombstoneRepository,
+                       TaskRankRebalancer taskRankRebalancer,
+                       TaskRecordRepository taskRecordRepository,
+                       SparseFieldRepository sparseFieldRepository,
+                       ProjectAnalyticsService projectAnalyticsService,
+                       TaskReminderService taskReminderService,
+                       TaskGraphService taskGraphService,
+                       ProjectAccessService projectAccessService,
+                       AuditLog auditLog) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskRankRebalancer = taskRankRebalancer;
+        this.taskRecordRepository = taskRecordRepository;
+        this.sparseFieldRepository = sparseFieldRepository;
+        this.projectAnalyticsService = projectAnalyticsService;
+        this.taskReminderService = taskReminderService;
+        this.taskGraphService = taskGraphService;
+        this.projectAccessService = projectAccessService;
+        this.auditLog = auditLog;
+    }
+
+    // ---------- writes ----------
+
+    @Transactional
+    public TaskResponse createTask(Long projectId, TaskRequest request, User currentUser) {
+        Project project = findProject(projectId);
+        ensureProjectRole(project, currentUser, ProjectRole.EDITOR);
+
+        Task task = new Task();
+        applyRequestToTask(request, task);
+        task.setProject(project);
+
+        // subtask: parent must be in the same project
+        String parentPath = "/";
+        if (request.getParentId() != null) {
+            Task parent = taskRepository.findByIdAndProject(request.getParentId(), project)
+                    .orElseThrow(() -> new ResponseStatusException(
+                            HttpStatus.BAD_REQUEST, "Parent task not found in this project"
+                    ));
+            if (depthOf(parent.getPath()) >= MAX_TASK_DEPTH) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST, "Subtasks can be nested at most " + MAX_TASK_DEPTH + " levels deep"
+                );
+            }
+            task.setParentId(parent.getId());
+            parentPath = parent.getPath();
+        }
+
+        // new tasks go to the end of the manual order
+        String lastRank = taskRepository.findFirstByProjectAndRankNotNullOrderByRankDesc(project)
+                .map(Task::getRank)
+                .orElse(null);
+        task.setRank(TaskRanks.after(lastRank));
+
+        Task saved = taskRepository.save(task); // IDENTITY: inserted right here, response version is the stored 0
+        taskRepository.initPath(saved.getId(), parentPath);
+        saved.setPath(parentPath + saved.getId() + "/"); // detached by initPath: in memory only
+        projectAnalyticsService.recordCreated(saved);
+        taskReminderService.onTaskSaved(saved);
+        taskGraphService.invalidate(project.getId());
+        return toResponse(saved);
+    }
+
+    @Transactional
+    public TaskResponse updateTask(Long id, TaskRequest request, User currentUser) {
+        Task task = findTaskWithProject(id);
+        ensureProjectRole(task.getProject(), currentUser, ProjectRole.EDITOR);
+
+        // the client edited an older copy: answer 409 rather than overwrite the newer one.
+        // Edits racing between this read and commit fail on the @Version check instead.
+        if (request.getVersion() != null && !request.getVersion().equals(task.getVersion())) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT, "Task was changed by someone else (now version " + task.getVersion() + ")"
+            );
+        }
+
+        TaskStatus previousStatus = task.getStatus();
+        String previousTitle = task.getTitle();
+        LocalDate previousDueDate = task.getDueDate();
+        applyRequestToTask(request, task);
+        Task updated = taskRepository.saveAndFlush(task); // flushed: the response carries the new version
+        projectAnalyticsService.recordStatusChange(updated, previousStatus);
+        taskReminderService.onTaskSaved(updated);
+        // the dependency graph only holds title, status and due date
+        if (updated.getStatus() != previousStatus
+                || !Objects.equals(updated.getTitle(), previousTitle)
+                || !Objects.equals(updated.getDueDate(), previousDueDate)) {
+            taskGraphService.nodeChanged(updated.getProject().getId(), id);
+        }
+        return toResponse(updated);
+    }
+
+    /**
+     * Moves a card to another column with one conditional UPDATE; the task is
+     * never loaded as an entity. The change is "set status to X", so losing a
+     * race to another edit is safe to retry: the row is re-read and the
+     * compare-and-set repeated, at most {@link #MAX_STATUS_ATTEMPTS} times.
+     * With {@code expectedStatus} the card only moves if it is still in that
+     * column; otherwise, or when every attempt loses, the answer is 409.
+     */
+    @Transactional
+    public TaskStatusResponse changeStatus(Long id, TaskStatusRequest request, User currentUser) {
+        TaskStatus target = parseStatus(request.getStatus());
+        TaskStatus expected = request.getExpectedStatus() != null ? parseStatus(request.getExpectedStatus()) : null;
+
+        for (int attempt = 1; attempt <= MAX_STATUS_ATTEMPTS; attempt++) {
+            // read committed: every attempt sees the latest committed row
+            StatusRow row = taskRepository.findStatusRowById(id)
+                    .orElseThrow(() -> new ResponseStatusException(
+                            HttpStatus.NOT_FOUND, "Task not found"
+                    ));
+            ensureProjectRole(row.getProjectId(), currentUser, ProjectRole.EDITOR);
+
+            TaskStatus current = row.getStatus();
+            if (expected != null && current != expected) {
+                throw new ResponseStatusException(
+                        HttpStatus.CONFLICT, "Task is " + current.name() + ", not " + expected.name()
+                );
+            }
+            if (current == target) {
+                return new TaskStatusResponse(id, current.name(), row.getVersion(), row.getUpdatedAt());
+            }
+
+            Instant now = Instant.now();
+            if (taskRepository.compareAndSetStatus(id, current.name(), target.name(), row.getVersion(), now) == 1) {
+                Long projectId = row.getProjectId();
+                projectAnalyticsService.recordStatusChange(id, projectId, row.getCreatedAt(), current, target);
+                taskReminderService.onTaskSaved(id, target, row.getDueDate());
+                taskGraphService.nodeChanged(projectId, id);
+                // native update: the entity listener never sees it
+                auditLog.record(new AuditEvent("TASK", id, projectId, AuditAction.UPDATE,
+                        target.name(), currentUser.getEmail(), now));
+                return new TaskStatusResponse(id, target.name(), row.getVersion() + 1, now);
+            }
+        }
+
+        throw new ResponseStatusException(
+                HttpStatus.CONFLICT, "Task is being changed concurrently, reload and retry"
+        );
+    }
+
+    /** Manual reorder: only the moved row is written. */
+    @Transactional
+    public TaskResponse moveTask(Long id, MoveTaskRequest request, User currentUser) {
+        Task task = findTaskWithProject(id);
+        ensureProjectRole(task.getProject(), currentUser, ProjectRole.EDITOR);
+
+        if ((request.getBeforeId() == null) == (request.getAfterId() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Exactly one of beforeId or afterId is required");
+        }
+        boolean after = request.getAfterId() != null;
+        Long anchorId = after ? request.getAfterId() : request.getBeforeId();
+        if (anchorId.equals(id)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A task cannot be moved next to itself");
+        }
+
+        Task anchor = taskRepository.findByIdAndProject(anchorId, task.getProject())
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Neighbour task not found in this project"
+                ));
+
+        // concurrent appends can leave duplicates; the neighbour lookups are strict,
+        // so a duplicate of the anchor would be skipped and the task land past it
+        Optional<String> newRank = Optional.empty();
+        boolean respace = anchor.getRank() == null
+                || taskRepository.existsByProjectAndRankAndIdNotIn(
+                        task.getProject(), anchor.getRank(), List.of(anchor.getId(), task.getId()));
+        if (!respace) {
+            newRank = rankForMove(task, anchor, after);
+            respace = newRank.filter(r -> r.length() > TaskRanks.MAX_LENGTH).isPresent();
+        }
+        if (respace) {
+            // unranked / duplicate / overlong ranks: respace the project once, then retry.
+            // Respacing is a native update that clears the context: re-read both rows
+            taskRankRebalancer.rebalance(task.getProject().getId());
+            task = findTaskWithProject(id);
+            anchor = taskRepository.findByIdAndProject(anchorId, task.getProject()).orElseThrow();
+            newRank = rankForMove(task, anchor, after);
+        }
+
+        newRank.ifPresent(task::setRank);
+        Task moved = taskRepository.save(task);
+        return toResponse(moved);
+    }
+
+    /** Moves a task with all its subtasks: one set-based path rewrite. */
+    @Transactional
+    public TaskResponse reparentTask(Long id, Long newParentId, User currentUser) {
+        Task task = findTaskWithProject(id);
+        ensureProjectRole(task.getProject(), currentUser, ProjectRole.EDITOR);
+
+        Project project = task.getProject();
+        if (Objects.equals(newParentId, task.getParentId())) {
+            return toResponse(task);
+        }
+
+        // paths are re-read under the lock: a concurrent move may have changed them
+        taskRepository.lockProjectStructure(project.getId());
+        String oldPrefix = taskRepository.findPathById(id).orElseThrow();
+
+        String newParentPath = "/";
+        if (newParentId != null) {
+            taskRepository.findByIdAndProject(newParentId, project)
+                    .orElseThrow(() -> new ResponseStatusException(
+                            HttpStatus.BAD_REQUEST, "Parent task not found in this project"
+                    ));
+            newParentPath = taskRepository.findPathById(newParentId).orElseThrow();
+            if (newParentPath.startsWith(oldPrefix)) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST, "A task cannot be moved under itself or one of its subtasks"
+                );
+            }
+        }
+
+        SubtreeStats stats = taskRepository.findSubtreeStats(project.getId(), oldPrefix + "%");
+        if (stats.getSize() > MAX_SUBTREE_UPDATE) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Subtrees of more than " + MAX_SUBTREE_UPDATE + " tasks cannot be moved at once"
+            );
+        }
+        int levelsBelow = stats.getMaxDepth() - depthOf(oldPrefix);
+        if (depthOf(newParentPath) + 1 + levelsBelow > MAX_TASK_DEPTH) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Subtasks can be nested at most " + MAX_TASK_DEPTH + " levels deep"
+            );
+        }
+
+        taskRepository.moveSubtree(project.getId(), oldPrefix + "%", oldPrefix.length() + 1,
+                newParentPath + id + "/", id, newParentId, Instant.now());
+
+        return toResponse(findTaskWithProject(id)); // moveSubtree cleared the context
+    }
+
+    /** {@code blockerId} has to be DONE before {@code id}. */
+    @Transactional
+    public void addBlocker(Long id, Long blockerId, User currentUser) {
+        Task task = findTask(id);
+        ensureProjectRole(task.getProject(), currentUser, ProjectRole.EDITOR);
+
+        Task blocker = taskRepository.findByIdAndProject(blockerId, task.getProject())
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST, "Blocker task not found in this project"
+                ));
+
+        taskGraphService.addDependency(blocker, task);
+    }
+
+    @Transactional
+    public void removeBlocker(Long id, Long blockerId, User currentUser) {
+        Task task = findTask(id);
+        ensureProjectRole(task.getProject(), currentUser, ProjectRole.EDITOR);
+
+        if (!taskGraphService.removeDependency(task.getProject().getId(), blockerId, id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Dependency not found");
+        }
+    }
+
+    /** Soft delete; subtasks survive by moving up to the deleted task's parent. */
+    @Transactional
+    public void deleteTask(Long id, User currentUser) {
+        Task task = findTask(id);
+        ensureProjectRole(task.getProject(), currentUser, ProjectRole.EDITOR);
+
+        // leave a tombstone so delta-sync clients drop the task too
+        Long projectId = task.getProject().getId();
+        taskTombstoneRepository.save(new TaskTombstone(task.getId(), projectId));
+        projectAnalyticsService.recordDeleted(task);
+        taskReminderService.onTaskDeleted(task.getId());
+        // edges stay for a restore; the graph skips them while the task is deleted
+        taskGraphService.invalidate(projectId);
+
+        taskRepository.lockProjectStructure(projectId);
+        String path = taskRepository.findPathById(id).orElseThrow();
+        SubtreeStats stats = taskRepository.findSubtreeStats(projectId, path + "%");
+        if (stats.getSize() > 1) {
+            if (stats.getSize() > MAX_SUBTREE_UPDATE) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST, "Tasks with more than " + MAX_SUBTREE_UPDATE + " subtasks cannot be deleted at once"
+                );
+            }
+            String parentPath = path.substring(0, path.length() - 1 - String.valueOf(id).length());
+            taskRepository.promoteChildren(projectId, path + "%", path.length() + 1, parentPath,
+                    id, task.getParentId(), Instant.now());
+        }
+
+        // one row update instead of a DELETE; the purge job removes it after the retention period
+        Task deleted = findTask(id); // re-read: promoteChildren clears the context
+        deleted.setDeletedAt(Instant.now());
+        taskRepository.save(deleted);
+    }
+
+    /** Undoes a delete within the retention period; the task comes back as a root task. */
+    @Transactional
+    public TaskResponse restoreTask(Long id, User currentUser) {
+        Long projectId = taskRepository.findDeletedTaskProjectId(id)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Deleted task not found"
+                ));
+        Project project = findProject(projectId);
+        ensureProjectRole(project, currentUser, ProjectRole.EDITOR);
+
+        taskRepository.restore(id, Instant.now());
+        taskTombstoneRepository.deleteByTaskId(id);
+
+        Task restored = findTaskWithProject(id);
+        projectAnalyticsService.recordRestored(restored);
+        taskReminderService.onTaskSaved(restored);
+        taskGraphService.invalidate(projectId);
+        auditLog.record(new AuditEvent("TASK", id, projectId, AuditAction.RESTORE,
+                restored.getStatus().name(), currentUser.getEmail(), Instant.now()));
+        return toResponse(restored);
+    }
+
+    // ---------- reads ----------
+
+    /** Paged, sorted task list; {@code selection} (fields=...) selects only those columns. */
+    @Transactional(readOnly = true)
+    public PagedResponse<?> getTasksForProject(Long projectId, int page, int size, String sortBy, String direction,
+                                               boolean includeArchived, FieldSelection selection, User currentUser) {
+        Project project = findProject(projectId);
+        ensureProjectRole(project, currentUser, ProjectRole.VIEWER);
+
+        Sort.Direction dir;
+        try {
+            dir = Sort.Direction.fromString(direction);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "direction must be asc or desc");
+        }
+
+        // sortBy whitelist (prevents 500), names must match Task fields exactly
+        String mappedSort = switch (sortBy) {
+            case "createdAt", "dueDate", "title", "status", "priority", "rank" -> sortBy;
+            default -> throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Invalid sortBy. Allowed: createdAt, dueDate, title, status, priority, rank"
+            );
+        };
+
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), 50);
+
+        Pageable pageable = PageRequest.of(safePage, safeSize, Sort.by(dir, mappedSort));
+
+        if (selection != null) {
+            Page<Map<String, Object>> rows = includeArchived
+                    ? sparseFieldRepository.findFields(TaskRecord.class, selection.intersect(TASK_RECORD_COLUMNS),
+                            "projectId", project.getId(), pageable)
+                    : sparseFieldRepository.findFields(Task.class, selection.intersect(TASK_COLUMNS),
+                            "project.id", project.getId(), pageable);
+
+            return toPagedResponse(rows.map(row -> withProjectFields(row, selection, project)));
+        }
+
+        // archived (cold) tasks only on request
+        Page<TaskResponse> taskPage = includeArchived
+                ? taskRecordRepository.findByProjectId(project.getId(), pageable)
+                        .map(record -> toResponse(record, project))
+                : taskRepository.findByProject(project, pageable)
+                        .map(this::toResponse);
+
+        return toPagedResponse(taskPage);
+    }
+
+    /** Delta sync: tasks changed and ids deleted since the client's token. */
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getTaskChanges(Long projectId, String since, int limit, User currentUser) {
+        Project project = findProject(projectId);
+        ensureProjectRole(project, currentUser, ProjectRole.VIEWER);
+
+        SyncCursor cursor = decodeSyncToken(since);
+        int safeLimit = Math.min(Math.max(limit, 1), 500);
+
+        // fetch one extra row to know whether another round is needed
+        List<Task> changed = taskRepository.findChangedSince(
+                project, cursor.updatedAt(), cursor.lastId(), PageRequest.of(0, safeLimit + 1)
+        );
+
+        boolean hasMore = changed.size() > safeLimit;
+        SyncCursor next;
+        if (hasMore) {
+            changed = changed.subList(0, safeLimit);
+            // resume right after the last row sent, ties on updatedAt broken by id
+            Task last = changed.get(changed.size() - 1);
+            next = new SyncCursor(last.getUpdatedAt(), last.getId());
+        } else {
+            Instant upTo = Instant.now().minus(SYNC_COMMIT_LAG);
+            next = upTo.isAfter(cursor.updatedAt()) ? new SyncCursor(upTo, 0L) : cursor;
+        }
+
+        List<Long> deletedIds = taskTombstoneRepository
+                .findByProjectIdAndDeletedAtAfterAndDeletedAtLessThanEqualOrderByDeletedAtAsc(
+                        project.getId(), cursor.updatedAt(), next.updatedAt()
+                )
+                .stream()
+                .map(TaskTombstone::getTaskId)
+                .toList();
+
+        return new TaskChangesResponse(
+                changed.stream().map(this::toResponse).toList(),
+                deletedIds,
+                encodeSyncToken(next),
+                hasMore
+        );
+    }
+
+    /** Kanban board: every status column (page + total count) from one query. */
+    @Transactional(readOnly = true)
+    public BoardResponse getBoard(Long projectId, int limit, String status, String cursor, User currentUser) {
+        Project project = findProject(projectId);
+        ensureProjectRole(project, currentUser, ProjectRole.VIEWER);
+
+        // status + cursor = load more of a single column
+        TaskStatus column = null;
+        if (status != null) {
+            try {
+                column = TaskStatus.valueOf(status);
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid task status: " + status);
+            }
+        }
+
+        String afterRank = null;
+        Long afterId = null;
+        if (cursor != null) {
+            if (column == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor requires status");
+            }
+            String[] after = splitCursor(cursor);
+            afterRank = after[0];
+            try {
+                afterId = Long.parseLong(after[1]);
+            } catch (NumberFormatException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        int perColumn = Math.min(Math.max(limit, 1), 50);
+
+        // one extra row per column tells us whether it continues
+        Map<TaskStatus, List<BoardRow>> rowsByStatus = new EnumMap<>(TaskStatus.class);
+        for (BoardRow row : taskRepository.findBoard(project.getId(), column, afterRank, afterId, perColumn + 1)) {
+            rowsByStatus.computeIfAbsent(row.task().getStatus(), s -> new ArrayList<>()).add(row);
+        }
+
+        List<BoardColumnResponse> columns = new ArrayList<>();
+        for (TaskStatus columnStatus : column != null ? List.of(column) : List.of(TaskStatus.values())) {
+            List<BoardRow> rows = rowsByStatus.getOrDefault(columnStatus, List.of());
+            boolean hasMore = rows.size() > perColumn;
+            if (hasMore) {
+                rows = rows.subList(0, perColumn);
+            }
+
+            String nextCursor = null;
+            if (hasMore) {
+                Task tail = rows.get(rows.size() - 1).task();
+                String tailRank = tail.getRank() != null ? tail.getRank() : TaskBoardRepositoryImpl.UNRANKED;
+                nextCursor = tailRank + ":" + tail.getId();
+            }
+
+            columns.add(new BoardColumnResponse(
+                    columnStatus.name(),
+                    rows.isEmpty() ? 0 : rows.get(0).columnCount(),
+                    rows.stream().map(row -> toResponse(row.task())).toList(),
+                    nextCursor
+            ));
+        }
+
+        return new BoardResponse(project.getId(), columns);
+    }
+
+    /** Quick-switcher type-ahead across all accessible projects (trigram index). */
+    @Transactional(readOnly = true)
+    public List<TaskSuggestionResponse> searchMyTasks(String q, int limit, User currentUser) {
+        String query = q.strip();
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        if (query.length() > MAX_SEARCH_LENGTH) {
+            query = query.substring(0, MAX_SEARCH_LENGTH);
+        }
+
+        Memberships memberships = projectAccessService.membershipsOf(currentUser.getId());
+        if (memberships.isEmpty()) {
+            return List.of();
+        }
+
+        String escaped = escapeLike(query);
+        return taskRepository.searchTitles(
+                        memberships.projectIds(),
+                        query,
+                        escaped + "%",
+                        "%" + escaped + "%",
+                        Math.min(Math.max(limit, 1), MAX_SUGGESTIONS)
+                ).stream()
+                .map(m -> new TaskSuggestionResponse(
+                        m.getId(), m.getTitle(), m.getStatus(), m.getProjectId(), m.getProjectName()))
+                .toList();
+    }
+
+    /** Personal agenda: one query across all accessible projects, keyset paged. */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<TaskResponse> getMyTasks(String filter, int days, String sortBy, String cursor,
+                                                        int size, User currentUser) {
+        Memberships memberships = projectAccessService.membershipsOf(currentUser.getId());
+
+        LocalDate today = LocalDate.now();
+        int safeDays = Math.min(Math.max(days, 0), 365);
+
+        // every filter excludes DONE; they differ only in the due-date window
+        LocalDate dueFrom;
+        LocalDate dueTo;
+        switch (filter) {
+            case "open" -> {
+                dueFrom = EARLIEST_DUE_DATE;
+                dueTo = NO_DUE_DATE;
+            }
+            case "overdue" -> {
+                dueFrom = EARLIEST_DUE_DATE;
+                dueTo = today.minusDays(1);
+            }
+            case "dueSoon" -> {
+                dueFrom = today;
+                dueTo = today.plusDays(safeDays);
+            }
+            default -> throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Invalid filter. Allowed: open, overdue, dueSoon"
+            );
+        }
+
+        int safeSize = Math.min(Math.max(size, 1), 50);
+        Pageable limit = PageRequest.of(0, safeSize + 1);
+
+        if (memberships.isEmpty()) {
+            return new CursorPagedResponse<>(List.of(), safeSize, null, true);
+        }
+        List<Long> projectIds = memberships.projectIds();
+
+        List<Task> tasks;
+        try {
+            String[] after = cursor != null ? splitCursor(cursor) : null;
+            Long afterId = after != null ? Long.parseLong(after[1]) : 0L;
+
+            // only the open-ended window ("open") takes tasks without a due date
+            boolean includeUndated = dueTo.equals(NO_DUE_DATE);
+
+            tasks = switch (sortBy) {
+                case "dueDate" -> {
+                    LocalDate afterDue = after != null ? LocalDate.parse(after[0]) : dueFrom;
+                    List<Task> page = new ArrayList<>();
+                    if (afterDue.isBefore(NO_DUE_DATE)) {
+                        page.addAll(taskRepository.findAgendaByDueDate(
+                                projectIds, TaskStatus.DONE, dueFrom, dueTo, afterDue, afterId, limit
+                        ));
+                    }
+                    // undated tasks come after every dated one; the cursor carries NO_DUE_DATE there
+                    int room = limit.getPageSize() - page.size();
+                    if (includeUndated && room > 0) {
+                        page.addAll(taskRepository.findAgendaWithoutDueDate(
+                                projectIds, TaskStatus.DONE,
+                                afterDue.equals(NO_DUE_DATE) ? afterId : 0L,
+                                PageRequest.of(0, room)
+                        ));
+                    }
+                    yield page;
+                }
+                case "priority" -> taskRepository.findAgendaByPriority(
+                        projectIds, TaskStatus.DONE, dueFrom, dueTo, includeUndated,
+                        after != null ? Integer.parseInt(after[0]) : Integer.MAX_VALUE,
+                        afterId, limit
+                );
+                default -> throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "Invalid sortBy. Allowed: dueDate, priority"
+                );
+            };
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        boolean last = tasks.size() <= safeSize;
+        if (!last) {
+            tasks = tasks.subList(0, safeSize);
+        }
+
+        String nextCursor = null;
+        if (!last) {
+            Task tail = tasks.get(tasks.size() - 1);
+            Object sortValue = sortBy.equals("dueDate")
+                    ? (tail.getDueDate() != null ? tail.getDueDate() : NO_DUE_DATE)
+                    : tail.getPriority();
+            nextCursor = sortValue + ":" + tail.getId();
+        }
+
+        return new CursorPagedResponse<>(
+                tasks.stream().map(this::toResponse).toList(),
+                safeSize,
+                nextCursor,
+                last
+        );
+    }
+
+    /** Batch get: many ids, one membership-filtered query. */
+    @Transactional(readOnly = true)
+    public BatchTasksResponse getTasksByIds(List<Long> ids, User currentUser) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids are required");
+        }
+        if (requested.size() > MAX_BATCH_IDS) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_IDS + " ids per request"
+            );
+        }
+
+        Memberships memberships = projectAccessService.membershipsOf(currentUser.getId());
+
+        Map<Long, Task> found = new HashMap<>();
+        List<Task> visible = memberships.isEmpty()
+                ? List.of()
+                : taskRepository.findAllByIdInAndProjectIdIn(requested, memberships.projectIds());
+        for (Task task : visible) {
+            found.put(task.getId(), task);
+        }
+
+        List<TaskResponse> tasks = new ArrayList<>(found.size());
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : requested) {
+            Task task = found.get(id);
+            if (task != null) {
+                tasks.add(toResponse(task));
+            } else {
+                notFound.add(id);
+            }
+        }
+
+        // only the leftovers need a second look: exists elsewhere -> forbidden
+        List<Long> missing = new ArrayList<>();
+        List<Long> forbidden = new ArrayList<>();
+        if (!notFound.isEmpty()) {
+            Set<Long> existing = new HashSet<>(taskRepository.findExistingIds(notFound));
+            for (Long id : notFound) {
+                (existing.contains(id) ? forbidden : missing).add(id);
+            }
+        }
+
+        return new BatchTasksResponse(tasks, missing, forbidden);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskResponse getTask(Long id, User currentUser) {
+        Task task = findTaskWithProject(id);
+        ensureProjectRole(task.getProject(), currentUser, ProjectRole.VIEWER);
+        return toResponse(task);
+    }
+
+    /** "Everything under this epic" + rolled-up completion, one range query. */
+    @Transactional(readOnly = true)
+    public SubtreeResponse getSubtree(Long id, User currentUser) {
+        Task root = findTaskWithProject(id);
+        ensureProjectRole(root.getProject(), currentUser, ProjectRole.VIEWER);
+
+        List<Task> subtree = taskRepository.findSubtree(root.getProject(), root.getPath() + "%");
+        int done = (int) subtree.stream().filter(t -> t.getStatus() == TaskStatus.DONE).count();
+        double percent = subtree.isEmpty() ? 0 : Math.round(done * 1000.0 / subtree.size()) / 10.0;
+
+        List<TaskResponse> tasks = subtree.stream().map(this::toResponse).toList();
+        return new SubtreeResponse(root.getId(), subtree.size(), done, percent, tasks);
+    }
+
+    /**
+     * Topological order, critical path and unblocked tasks from the cached graph.
+     * Not transactional: a graph missing from the cache is built on the primary.
+     */
+    public DependencyGraphResponse getDependencyGraph(Long projectId, User currentUser) {
+        Project project = findProject(projectId);
+        ensureProjectRole(project, currentUser, ProjectRole.VIEWER);
+        return taskGraphService.describe(project.getId());
+    }
+
+    // ---------- helpers ----------
+
+    private Project findProject(Long projectId) {
+        return projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Project not found"
+                ));
+    }
+
+    // for access checks and writes that never read the project beyond its id
+    private Task findTask(Long id) {
+        return taskRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Task not found"
+                ));
+    }
+
+    // the response carries the project name: fetched with the task, not on first access
+    private Task findTaskWithProject(Long id) {
+        return taskRepository.findWithProjectById(id)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Task not found"
+                ));
+    }
+
+    private void ensureProjectRole(Project project, User user, ProjectRole required) {
+        ensureProjectRole(project.getId(), user, required);
+    }
+
+    // served from the membership cache: no query or join per request
+    private void ensureProjectRole(Long projectId, User user, ProjectRole required) {
+        ProjectRole role = projectAccessService.roleIn(user.getId(), projectId);
+        if (role == null) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not your project");
+        }
+        if (!role.includes(required)) {
+            throw new ResponseStatusException(
+                    HttpStatus.FORBIDDEN, "Requires " + required.name() + " role in this project"
+            );
+        }
+    }
+
+    // sync tokens are "<epoch micros>:<lastId>"; a bare timestamp (older clients) means lastId 0
+    private record SyncCursor(Instant updatedAt, long lastId) {}
+
+    private SyncCursor decodeSyncToken(String token) {
+        if (token == null || token.isBlank()) {
+            return new SyncCursor(Instant.EPOCH, 0L);
+        }
+        try {
+            int sep = token.indexOf(':');
+            String micros = sep < 0 ? token : token.substring(0, sep);
+            long lastId = sep < 0 ? 0L : Long.parseLong(token.substring(sep + 1));
+            return new SyncCursor(Instant.EPOCH.plus(Long.parseLong(micros), ChronoUnit.MICROS), lastId);
+        } catch (NumberFormatException | ArithmeticException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sync token");
+        }
+    }
+
+    private String encodeSyncToken(SyncCursor cursor) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, cursor.updatedAt()) + ":" + cursor.lastId();
+    }
+
+    // agenda cursors are "<sortValue>:<lastId>" taken from the last row of the previous page
+    private String[] splitCursor(String cursor) {
+        int sep = cursor.lastIndexOf(':');
+        if (sep <= 0 || sep == cursor.length() - 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        return new String[]{cursor.substring(0, sep), cursor.substring(sep + 1)};
+    }
+
+    /**
+     * New rank for a move, computed from the anchor and its current neighbour.
+     * Empty when the task already sits there.
+     */
+    private Optional<String> rankForMove(Task task, Task anchor, boolean after) {
+        Project project = task.getProject();
+
+        if (after) {
+            Optional<Task> next = taskRepository.findFirstByProjectAndRankGreaterThanOrderByRankAsc(project, anchor.getRank());
+            if (next.isPresent() && next.get().getId().equals(task.getId())) {
+                return Optional.empty();
+            }
+            return Optional.of(TaskRanks.between(anchor.getRank(), next.map(Task::getRank).orElse(null)));
+        }
+
+        Optional<Task> previous = taskRepository.findFirstByProjectAndRankLessThanOrderByRankDesc(project, anchor.getRank());
+        if (previous.isPresent() && previous.get().getId().equals(task.getId())) {
+            return Optional.empty();
+        }
+        return Optional.of(TaskRanks.between(previous.map(Task::getRank).orElse(null), anchor.getRank()));
+    }
+
+    private TaskResponse toResponse(Task task) {
+        TaskResponse dto = new TaskResponse();
+        dto.setId(task.getId());
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setStatus(task.getStatus() != null ? task.getStatus().name() : null);
+        dto.setDueDate(task.getDueDate());
+        dto.setPriority(task.getPriority());
+        dto.setRank(task.getRank());
+        dto.setParentId(task.getParentId());
+
+        if (task.getProject() != null) {
+            dto.setProjectId(task.getProject().getId());
+            dto.setProjectName(task.getProject().getName());
+        }
+
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setVersion(task.getVersion());
+
+        return dto;
+    }
+
+    // hot or archived row from the includeArchived view; the project is already loaded
+    private TaskResponse toResponse(TaskRecord record, Project project) {
+        TaskResponse dto = new TaskResponse();
+        dto.setId(record.getId());
+        dto.setTitle(record.getTitle());
+        dto.setDescription(record.getDescription());
+        dto.setStatus(record.getStatus() != null ? record.getStatus().name() : null);
+        dto.setDueDate(record.getDueDate());
+        dto.setPriority(record.getPriority());
+        dto.setRank(record.getRank());
+        dto.setProjectId(project.getId());
+        dto.setProjectName(project.getName());
+        dto.setCreatedAt(record.getCreatedAt());
+        dto.setUpdatedAt(record.getUpdatedAt());
+        dto.setArchived(record.isArchived());
+        return dto;
+    }
+
+    // project fields come from the already loaded project, never from a join
+    private Map<String, Object> withProjectFields(Map<String, Object> row, FieldSelection selection, Project project) {
+        if (selection.contains("projectId")) row.put("projectId", project.getId());
+        if (selection.contains("projectName")) row.put("projectName", project.getName());
+        if (selection.contains("archived")) row.putIfAbsent("archived", false);
+        return row;
+    }
+
+    // number of ids in a materialized path: "/" -> 0, "/4/9/" -> 2
+    private static int depthOf(String path) {
+        int slashes = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == '/') slashes++;
+        }
+        return slashes - 1;
+    }
+
+    // user text goes into ILIKE patterns literally
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private <T> PagedResponse<T> toPagedResponse(Page<T> page) {
+        return new PagedResponse<>(
+                page.getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isLast()
+        );
+    }
+
+    private void applyRequestToTask(TaskRequest request, Task task) {
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setDueDate(request.getDueDate());
+
+        // default priority if missing
+        Integer priority = request.getPriority();
+        task.setPriority(priority != null ? priority : 2);
+
+        if (request.getStatus() != null) {
+            task.setStatus(parseStatus(request.getStatus()));
+        }
+    }
+
+    private static TaskStatus parseStatus(String status) {
+        try {
+            return TaskStatus.valueOf(status);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Invalid task status: " + status
+            );
+        }
+    }
+}
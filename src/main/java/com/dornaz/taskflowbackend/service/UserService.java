@@ -0,0 +1,152 @@
+package com.dornaz.taskflowbackend.service;
+
+import com.dornaz.taskflowbackend.dto.auth.CreateUserRequest;
+import com.dornaz.taskflowbackend.dto.user.BulkCreateUsersResponse;
+import com.dornaz.taskflowbackend.model.User;
+import com.dornaz.taskflowbackend.model.UserRole;
+import com.dornaz.taskflowbackend.repository.UserRepository;
+import com.dornaz.taskflowbackend.security.PasswordHashingService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * User creation without the exists-then-save race: the (case-insensitive)
+ * unique index decides, and "email taken" comes back as an empty result
+ * instead of a constraint violation.
+ *
+ * BCrypt work never runs inside a transaction: a connection held across a
+ * hash would idle for the whole cost factor. Nothing here is
+ * {@code @Transactional}: createUser and authenticate only run single
+ * statements before or after a hash, and createUsers hashes the whole batch
+ * before it opens its TransactionTemplate for the inserts.
+ */
+@Service
+public class UserService {
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private static final String INSERT_USER_SQL = """
+            insert into users (username, email, password_hash, role, created_at)
+            values (?, ?, ?, ?, ?)
+            on conflict do nothing
+            """;
+
+    private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserService(UserRepository userRepository,
+                       PasswordHashingService passwordHashingService,
+                       JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Completes once the password is hashed and the row inserted; the short insert
+     * runs on the hashing thread that produced the hash.
+     *
+     * @return the created user, or empty when the email is already registered
+     */
+    public CompletableFuture<Optional<User>> createUser(CreateUserRequest request, UserRole role) {
+        return passwordHashingService.encode(request.getPassword())
+                .thenApply(passwordHash -> {
+                    User user = new User();
+                    user.setUsername(request.getUsername());
+                    user.setEmail(request.getEmail());
+                    user.setPasswordHash(passwordHash);
+                    user.setRole(role);
+
+                    return userRepository.insertIfEmailAbsent(
+                                    user.getUsername(),
+                                    user.getEmail(),
+                                    user.getPasswordHash(),
+                                    user.getRole().name(),
+                                    user.getCreatedAt()
+                            )
+                            .map(id -> {
+                                user.setId(id);
+                                return user;
+                            });
+                });
+    }
+
+    /**
+     * Login check; a stored hash older than the configured BCrypt cost is upgraded on the way.
+     *
+     * @return the user, or empty for an unknown email or a wrong password
+     */
+    public CompletableFuture<Optional<User>> authenticate(String email, String password) {
+        Optional<User> found = userRepository.findByEmailIgnoreCase(email);
+        if (found.isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        User user = found.get();
+        return passwordHashingService.matches(email, password, user.getPasswordHash())
+                .thenCompose(matches -> {
+                    if (!matches) {
+                        return CompletableFuture.completedFuture(Optional.<User>empty());
+                    }
+                    if (!passwordHashingService.needsRehash(user.getPasswordHash())) {
+                        return CompletableFuture.completedFuture(Optional.of(user));
+                    }
+                    return passwordHashingService.encode(password).thenApply(passwordHash -> {
+                        user.setPasswordHash(passwordHash);
+                        return Optional.of(userRepository.save(user));
+                    });
+                });
+    }
+
+    /**
+     * Creates many users with batched inserts; existing emails are skipped and reported.
+     * Every password is hashed first on the bulk hashing pool, the inserts then run in
+     * one short transaction on the thread that finished the last hash.
+     */
+    public CompletableFuture<BulkCreateUsersResponse> createUsers(List<CreateUserRequest> requests, UserRole role) {
+        return passwordHashingService.encodeAll(requests.stream().map(CreateUserRequest::getPassword).toList())
+                .thenApply(hashes -> transactionTemplate.execute(status -> insertUsers(requests, hashes, role)));
+    }
+
+    private BulkCreateUsersResponse insertUsers(List<CreateUserRequest> requests, List<String> hashes, UserRole role) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        int created = 0;
+        List<String> skippedEmails = new ArrayList<>();
+
+        for (int from = 0; from < requests.size(); from += INSERT_BATCH_SIZE) {
+            List<CreateUserRequest> chunk = requests.subList(from, Math.min(from + INSERT_BATCH_SIZE, requests.size()));
+            List<Object[]> rows = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                CreateUserRequest request = chunk.get(i);
+                rows.add(new Object[]{
+                        request.getUsername(), request.getEmail(), hashes.get(from + i), role.name(), createdAt
+                });
+            }
+
+            // one batch per chunk; update count 0 means "on conflict do nothing" kicked in
+            int[] counts = jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    created++;
+                } else {
+                    skippedEmails.add(chunk.get(i).getEmail());
+                }
+            }
+        }
+
+        return new BulkCreateUsersResponse(created, skippedEmails);
+    }
+}
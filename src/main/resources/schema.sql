@@ -0,0 +1,67 @@
+-- Runs after Hibernate's ddl-auto=update (spring.jpa.defer-datasource-initialization=true).
+-- Only for what @Table/@Index can't express; every statement must be idempotent.
+
+-- emails are unique regardless of case; user inserts rely on ON CONFLICT against this index
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email_lower ON users (lower(email));
+
+-- archiver candidates only: DONE rows by age, without indexing the live working set
+DROP INDEX IF EXISTS idx_tasks_done_updated_at;
+CREATE INDEX IF NOT EXISTS idx_tasks_live_done_updated_at ON tasks (updated_at)
+    WHERE status = 'DONE' AND deleted_at IS NULL;
+
+-- type-ahead over task titles: trigram GIN index serves both ILIKE '%q%' and similarity (%) matches
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+DROP INDEX IF EXISTS idx_tasks_title_trgm;
+CREATE INDEX IF NOT EXISTS idx_tasks_live_title_trgm ON tasks USING gin (title gin_trgm_ops) WHERE deleted_at IS NULL;
+
+-- one-time seed of the analytics rollups from tasks that predate the transition log
+-- (runs only while project_daily_stats is still empty; DONE tasks count as completed on their last update)
+INSERT INTO project_daily_stats (project_id, stat_date, created_count, completed_count, reopened_count,
+                                 removed_open_count, cycle_time_count, cycle_time_seconds)
+SELECT project_id, stat_date, sum(created), sum(completed), 0, 0, 0, 0
+FROM (
+    SELECT project_id, (created_at AT TIME ZONE 'UTC')::date AS stat_date, 1 AS created, 0 AS completed
+    FROM tasks WHERE created_at IS NOT NULL AND deleted_at IS NULL
+    UNION ALL
+    SELECT project_id, (coalesce(updated_at, created_at) AT TIME ZONE 'UTC')::date, 0, 1
+    FROM tasks WHERE status = 'DONE' AND created_at IS NOT NULL AND deleted_at IS NULL
+    UNION ALL
+    SELECT project_id, (created_at AT TIME ZONE 'UTC')::date, 1, 0
+    FROM tasks_archive WHERE created_at IS NOT NULL
+    UNION ALL
+    SELECT project_id, (coalesce(updated_at, created_at) AT TIME ZONE 'UTC')::date, 0, 1
+    FROM tasks_archive WHERE status = 'DONE' AND created_at IS NOT NULL
+) seed
+WHERE NOT EXISTS (SELECT 1 FROM project_daily_stats)
+GROUP BY project_id, stat_date;
+
+-- reminder rescans: open tasks by due date only (the (project_id, due_date) index can't serve a global range)
+DROP INDEX IF EXISTS idx_tasks_open_due_date;
+CREATE INDEX IF NOT EXISTS idx_tasks_live_open_due_date ON tasks (due_date)
+    WHERE status <> 'DONE' AND due_date IS NOT NULL AND deleted_at IS NULL;
+
+-- tasks created before subtasks existed are their own roots
+UPDATE tasks SET path = '/' || id || '/' WHERE path IS NULL;
+
+-- soft delete: every entity query filters deleted_at IS NULL (@SQLRestriction), so the
+-- working indexes only cover live rows; deleted ones are reached through *_deleted_at
+-- by the purge job. The full indexes Hibernate created before this are dropped once.
+DROP INDEX IF EXISTS idx_tasks_project_updated_at;
+DROP INDEX IF EXISTS idx_tasks_project_due_date;
+DROP INDEX IF EXISTS idx_tasks_project_rank;
+DROP INDEX IF EXISTS idx_tasks_project_path;
+DROP INDEX IF EXISTS idx_projects_owner_id;
+DROP INDEX IF EXISTS idx_tasks_live_project_updated_at;
+-- delta sync pages on (updated_at, id), so ties on one timestamp are walked in index order
+CREATE INDEX IF NOT EXISTS idx_tasks_live_project_updated_at_id ON tasks (project_id, updated_at, id) WHERE deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_tasks_live_project_due_date ON tasks (project_id, due_date) WHERE deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_tasks_live_project_rank ON tasks (project_id, rank) WHERE deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_tasks_live_project_path ON tasks (project_id, path) WHERE deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_projects_live_owner_id ON projects (owner_id) WHERE deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_tasks_deleted_at ON tasks (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_projects_deleted_at ON projects (deleted_at) WHERE deleted_at IS NOT NULL;
+-- FK lookups when a purged project takes its tasks along (covers deleted rows too)
+CREATE INDEX IF NOT EXISTS idx_tasks_project_id ON tasks (project_id);
+
+-- rank respacing candidates (unranked or overlong ranks); project_id rides along for index-only scans
+CREATE INDEX IF NOT EXISTS idx_tasks_live_rank_length ON tasks (length(rank), project_id) WHERE deleted_at IS NULL;
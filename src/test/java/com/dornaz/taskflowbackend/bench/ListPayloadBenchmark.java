@@ -0,0 +1,88 @@
+package com.dornaz.taskflowbackend.bench;
+
+import com.dornaz.taskflowbackend.dto.common.PagedResponse;
+import com.dornaz.taskflowbackend.dto.task.TaskResponse;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.dataformat.smile.SmileWriteFeature;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload size / serialization CPU of a 50-row task page per wire format.
+ * Not a unit test (surefire ignores it); run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.dornaz.taskflowbackend.bench.ListPayloadBenchmark
+ */
+public class ListPayloadBenchmark {
+
+    private static final int ROWS = 50;
+    private static final int ROUNDS = 5;
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 20_000;
+
+    public static void main(String[] args) {
+        PagedResponse<TaskResponse> page = samplePage();
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", JsonMapper.builder().build());
+        mappers.put("cbor", CBORMapper.builder().build());
+        mappers.put("smile", SmileMapper.builder().build());
+        // repeated values like projectName become back-references (smaller, but costs CPU)
+        mappers.put("smile+shared", SmileMapper.builder()
+                .enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES)
+                .build());
+
+        // formats are interleaved over several rounds and the best round is kept,
+        // which keeps JIT/GC noise from favouring whichever format runs last
+        Map<String, Double> bestMicros = new LinkedHashMap<>();
+        long sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+                ObjectMapper mapper = entry.getValue();
+                for (int i = 0; i < WARMUP; i++) {
+                    sink += mapper.writeValueAsBytes(page).length;
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    sink += mapper.writeValueAsBytes(page).length;
+                }
+                double microsPerPage = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+                bestMicros.merge(entry.getKey(), microsPerPage, Math::min);
+            }
+        }
+
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            int size = entry.getValue().writeValueAsBytes(page).length;
+            System.out.printf("%-13s %7d bytes  %7.1f us/page%n", entry.getKey(), size, bestMicros.get(entry.getKey()));
+        }
+        System.out.println("(sink " + sink % 10 + ")");
+    }
+
+    private static PagedResponse<TaskResponse> samplePage() {
+        List<TaskResponse> rows = new ArrayList<>();
+        Instant now = Instant.parse("2026-01-15T10:15:30.123456Z");
+        for (int i = 0; i < ROWS; i++) {
+            TaskResponse dto = new TaskResponse();
+            dto.setId(10_000L + i);
+            dto.setTitle("Task " + i + " - implement feature");
+            dto.setDescription("Some longer description for task " + i + " with a few more words in it.");
+            dto.setStatus(i % 3 == 0 ? "DONE" : "TODO");
+            dto.setDueDate(LocalDate.of(2026, 2, 1).plusDays(i));
+            dto.setPriority(1 + i % 3);
+            dto.setProjectId(42L);
+            dto.setProjectName("Mobile app relaunch");
+            dto.setCreatedAt(now.minusSeconds(i * 3600L));
+            dto.setUpdatedAt(now);
+            rows.add(dto);
+        }
+        return new PagedResponse<>(rows, 0, ROWS, 1_000, 20, false);
+    }
+}
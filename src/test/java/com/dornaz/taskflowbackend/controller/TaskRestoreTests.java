@@ -0,0 +1,115 @@
+package com.dornaz.taskflowbackend.controller;
+
+import com.dornaz.taskflowbackend.model.User;
+import com.dornaz.taskflowbackend.model.UserRole;
+import com.dornaz.taskflowbackend.repository.TaskDependencyRepository;
+import com.dornaz.taskflowbackend.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Undo delete: a restored task gets its dependencies back, in both directions.
+ * Runs against the configured database, like the context test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskRestoreTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskDependencyRepository taskDependencyRepository;
+
+    private RequestPostProcessor owner;
+
+    @BeforeEach
+    void createOwner() {
+        String email = "restore-" + UUID.randomUUID() + "@example.com";
+        User user = new User();
+        user.setUsername("restore");
+        user.setEmail(email);
+        user.setPasswordHash("{noop}unused");
+        user.setRole(UserRole.USER);
+        userRepository.save(user);
+        owner = user(email);
+    }
+
+    @Test
+    void restoredTaskKeepsItsBlockersAndBlockedTasks() throws Exception {
+        long projectId = id(mockMvc.perform(post("/api/projects").with(owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Restore", "status": "OPEN"}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+        long design = createTask(projectId, "Design");
+        long build = createTask(projectId, "Build");
+        long ship = createTask(projectId, "Ship");
+
+        addBlocker(build, design);
+        addBlocker(ship, build);
+        expectDependencyCount(projectId, 2);
+
+        mockMvc.perform(delete("/api/tasks/" + build).with(owner))
+                .andExpect(status().isNoContent());
+        // hidden from the graph while deleted, but not gone
+        expectDependencyCount(projectId, 0);
+        assertThat(taskDependencyRepository.existsByBlockerTaskIdAndBlockedTaskId(design, build)).isTrue();
+        assertThat(taskDependencyRepository.existsByBlockerTaskIdAndBlockedTaskId(build, ship)).isTrue();
+
+        mockMvc.perform(post("/api/tasks/" + build + "/restore").with(owner))
+                .andExpect(status().isOk());
+        expectDependencyCount(projectId, 2);
+    }
+
+    private long createTask(long projectId, String title) throws Exception {
+        return id(mockMvc.perform(post("/api/projects/" + projectId + "/tasks").with(owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "%s", "status": "TODO", "priority": 2}
+                                """.formatted(title)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private void addBlocker(long taskId, long blockerId) throws Exception {
+        mockMvc.perform(post("/api/tasks/" + taskId + "/blockers").with(owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"blockerId": %d}
+                                """.formatted(blockerId)))
+                .andExpect(status().isNoContent());
+    }
+
+    private void expectDependencyCount(long projectId, int count) throws Exception {
+        mockMvc.perform(get("/api/projects/" + projectId + "/dependencies").with(owner))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dependencyCount").value(count));
+    }
+
+    private static long id(String json) {
+        return JsonPath.<Number>read(json, "$.id").longValue();
+    }
+}
@@ -0,0 +1,134 @@
+package com.dornaz.taskflowbackend.controller;
+
+import com.dornaz.taskflowbackend.model.User;
+import com.dornaz.taskflowbackend.model.UserRole;
+import com.dornaz.taskflowbackend.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The version in a create/update response is the one a follow-up PUT must send:
+ * create, then edit twice with the returned versions, each edit answers 200.
+ * Runs against the configured database, like the context test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class VersionedUpdateTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private RequestPostProcessor owner;
+
+    @BeforeEach
+    void createOwner() {
+        String email = "versioned-" + UUID.randomUUID() + "@example.com";
+        User user = new User();
+        user.setUsername("versioned");
+        user.setEmail(email);
+        user.setPasswordHash("{noop}unused");
+        user.setRole(UserRole.USER);
+        userRepository.save(user);
+        owner = user(email);
+    }
+
+    @Test
+    void taskCanBeEditedWithTheVersionsItWasReturnedWith() throws Exception {
+        long projectId = id(mockMvc.perform(post("/api/projects").with(owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Versions", "status": "OPEN"}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+
+        String created = mockMvc.perform(post("/api/projects/" + projectId + "/tasks").with(owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Write tests", "status": "TODO", "priority": 2}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.version").value(0))
+                .andReturn().getResponse().getContentAsString();
+        long taskId = id(created);
+
+        String updated = mockMvc.perform(put("/api/tasks/" + taskId).with(owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskBody("Write more tests", version(created))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(put("/api/tasks/" + taskId).with(owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskBody("Write even more tests", version(updated))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2));
+
+        mockMvc.perform(put("/api/tasks/" + taskId).with(owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskBody("Stale edit", version(updated))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void projectCanBeEditedWithTheVersionItWasReturnedWith() throws Exception {
+        String created = mockMvc.perform(post("/api/projects").with(owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Versions", "status": "OPEN"}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long projectId = id(created);
+
+        String updated = mockMvc.perform(put("/api/projects/" + projectId).with(owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(projectBody("Renamed", version(created))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(put("/api/projects/" + projectId).with(owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(projectBody("Renamed again", version(updated))))
+                .andExpect(status().isOk());
+    }
+
+    private static String taskBody(String title, long version) {
+        return """
+                {"title": "%s", "status": "IN_PROGRESS", "priority": 2, "version": %d}
+                """.formatted(title, version);
+    }
+
+    private static String projectBody(String name, long version) {
+        return """
+                {"name": "%s", "status": "IN_PROGRESS", "version": %d}
+                """.formatted(name, version);
+    }
+
+    private static long id(String json) {
+        return JsonPath.<Number>read(json, "$.id").longValue();
+    }
+
+    private static long version(String json) {
+        return JsonPath.<Number>read(json, "$.version").longValue();
+    }
+}
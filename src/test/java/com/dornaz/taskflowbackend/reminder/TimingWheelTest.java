@@ -0,0 +1,118 @@
+package com.dornaz.taskflowbackend.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+
+    // 4 slots x 3 levels: level 0 spans 4 ticks, level 1 16, level 2 64; later deadlines get parked
+    private static final int SLOT_BITS = 2;
+    private static final int LEVELS = 3;
+    private static final long TICK = 10;
+
+    @Test
+    void firesOnTheDeadlineTickAndNotBefore() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOT_BITS, LEVELS, 0);
+        wheel.schedule("a", 50);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(49, fired::add);
+        assertThat(fired).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advanceTo(50, fired::add);
+        assertThat(fired).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOT_BITS, LEVELS, 1000);
+        wheel.schedule("late", 0);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(1000, fired::add);
+        assertThat(fired).isEmpty();
+        wheel.advanceTo(1010, fired::add);
+        assertThat(fired).containsExactly("late");
+    }
+
+    /**
+     * Every deadline from 1 to 300 ticks ahead, from start ticks on every slot
+     * of every level: crosses each level and wrap boundary, cascades, and the
+     * parking of deadlines beyond the top level's 64 ticks.
+     */
+    @Test
+    void everyDeadlineFiresExactlyOnItsTick() {
+        int horizon = 300;
+        for (long startTick = 0; startTick < 80; startTick++) {
+            TimingWheel<Long> wheel = new TimingWheel<>(TICK, SLOT_BITS, LEVELS, startTick * TICK);
+            for (long delta = 1; delta <= horizon; delta++) {
+                long deadlineTick = startTick + delta;
+                wheel.schedule(deadlineTick, deadlineTick * TICK);
+            }
+
+            Map<Long, Long> firedAt = new HashMap<>();
+            for (long tick = startTick + 1; tick <= startTick + horizon; tick++) {
+                long now = tick;
+                wheel.advanceTo(tick * TICK, deadline -> firedAt.put(deadline, now));
+            }
+
+            assertThat(wheel.size()).isZero();
+            assertThat(firedAt).hasSize(horizon);
+            firedAt.forEach((deadline, tick) -> assertThat(tick).isEqualTo(deadline));
+        }
+    }
+
+    @Test
+    void bigJumpsStillFireEverythingInOrder() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, SLOT_BITS, LEVELS, 0);
+        for (long tick = 1; tick <= 500; tick += 7) {
+            wheel.schedule(tick, tick * TICK);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advanceTo(123 * TICK, fired::add);
+        assertThat(fired).isSorted().allMatch(tick -> tick <= 123);
+        wheel.advanceTo(10_000 * TICK, fired::add);
+
+        assertThat(fired).isSorted().hasSize(72);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOT_BITS, LEVELS, 0);
+        TimingWheel.Timer<String> near = wheel.schedule("near", 20);
+        TimingWheel.Timer<String> far = wheel.schedule("far", 1000);   // parked
+        TimingWheel.Timer<String> kept = wheel.schedule("kept", 300);
+
+        assertThat(wheel.cancel(near)).isTrue();
+        assertThat(wheel.cancel(near)).isFalse();
+        assertThat(near.isPending()).isFalse();
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(500, fired::add);       // "far" has cascaded at least once by now
+        assertThat(far.isPending()).isTrue();
+        assertThat(wheel.cancel(far)).isTrue();
+        wheel.advanceTo(5000, fired::add);
+
+        assertThat(fired).containsExactly("kept");
+        assertThat(kept.isPending()).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rejectsInvalidShapes() {
+        assertThatThrownBy(() -> new TimingWheel<>(0, 6, 4, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimingWheel<>(1000, 0, 4, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimingWheel<>(1000, 16, 4, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
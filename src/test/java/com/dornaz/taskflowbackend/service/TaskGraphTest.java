@@ -0,0 +1,157 @@
+package com.dornaz.taskflowbackend.service;
+
+import com.dornaz.taskflowbackend.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskGraphTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+    // 1 -> 2 -> 3, 1 -> 4, 5 alone; ids deliberately passed out of order
+    private static final long[] IDS = {3, 1, 5, 2, 4};
+    private static final long[] BLOCKERS = {1, 2, 1};
+    private static final long[] BLOCKED = {2, 3, 4};
+
+    @Test
+    void topologicalOrderIsKahnInIdOrder() {
+        TaskGraph graph = graph(open(), noDueDates(), BLOCKERS, BLOCKED);
+
+        assertThat(graph.nodeCount()).isEqualTo(5);
+        assertThat(graph.edgeCount()).isEqualTo(3);
+        assertThat(graph.hasCycle()).isFalse();
+        assertThat(ids(graph, graph.topologicalOrder())).containsExactly(1L, 5L, 2L, 4L, 3L);
+    }
+
+    @Test
+    void nodesOnACycleAreLeftOutOfTheOrder() {
+        TaskGraph graph = graph(open(), noDueDates(), new long[]{1, 2, 3, 1}, new long[]{2, 3, 2, 4});
+
+        assertThat(graph.hasCycle()).isTrue();
+        assertThat(ids(graph, graph.topologicalOrder())).containsExactly(1L, 5L, 4L);
+    }
+
+    @Test
+    void edgesToUnknownTasksAreDropped() {
+        TaskGraph graph = graph(open(), noDueDates(), new long[]{1, 1, 99}, new long[]{2, 99, 3});
+
+        assertThat(graph.edgeCount()).isEqualTo(1);
+        assertThat(ids(graph, graph.unblocked())).containsExactly(1L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void criticalPathWithoutDueDatesIsTheLongestChain() {
+        TaskGraph graph = graph(open(), noDueDates(), BLOCKERS, BLOCKED);
+
+        TaskGraph.CriticalPath path = graph.criticalPath(TODAY);
+        assertThat(ids(graph, path.nodes())).containsExactly(1L, 2L, 3L);
+        assertThat(path.slackDays()).isNull();
+    }
+
+    @Test
+    void criticalPathFollowsTheTightestDueDate() {
+        LocalDate[] dueDates = noDueDates();
+        dueDates[indexOf(4)] = TODAY.plusDays(1); // needs 1 then 4: two days of work, one day left
+
+        TaskGraph graph = graph(open(), dueDates, BLOCKERS, BLOCKED);
+
+        TaskGraph.CriticalPath path = graph.criticalPath(TODAY);
+        assertThat(ids(graph, path.nodes())).containsExactly(1L, 4L);
+        assertThat(path.slackDays()).isEqualTo(-1L);
+    }
+
+    @Test
+    void doneTasksTakeNoTimeAndLeaveThePath() {
+        TaskStatus[] statuses = open();
+        statuses[indexOf(1)] = TaskStatus.DONE;
+        LocalDate[] dueDates = noDueDates();
+        dueDates[indexOf(3)] = TODAY.plusDays(5);
+
+        TaskGraph graph = graph(statuses, dueDates, BLOCKERS, BLOCKED);
+
+        TaskGraph.CriticalPath path = graph.criticalPath(TODAY);
+        assertThat(ids(graph, path.nodes())).containsExactly(2L, 3L);
+        assertThat(path.slackDays()).isEqualTo(3L);
+    }
+
+    @Test
+    void allDoneHasNoCriticalPath() {
+        TaskStatus[] statuses = new TaskStatus[IDS.length];
+        Arrays.fill(statuses, TaskStatus.DONE);
+
+        TaskGraph.CriticalPath path = graph(statuses, noDueDates(), BLOCKERS, BLOCKED).criticalPath(TODAY);
+        assertThat(path.nodes()).isEmpty();
+        assertThat(path.slackDays()).isNull();
+    }
+
+    @Test
+    void unblockedAreOpenTasksWhoseBlockersAreDone() {
+        TaskGraph allOpen = graph(open(), noDueDates(), BLOCKERS, BLOCKED);
+        assertThat(ids(allOpen, allOpen.unblocked())).containsExactly(1L, 5L);
+
+        TaskStatus[] statuses = open();
+        statuses[indexOf(1)] = TaskStatus.DONE;
+        TaskGraph graph = graph(statuses, noDueDates(), BLOCKERS, BLOCKED);
+        assertThat(ids(graph, graph.unblocked())).containsExactly(2L, 4L, 5L);
+    }
+
+    @Test
+    void withNodesPatchesACopy() {
+        TaskGraph original = graph(open(), noDueDates(), BLOCKERS, BLOCKED);
+
+        TaskGraph patched = original.withNodes(
+                new long[]{1, 42},
+                new String[]{"renamed", "unknown"},
+                new TaskStatus[]{TaskStatus.DONE, TaskStatus.DONE},
+                new LocalDate[]{TODAY, TODAY}
+        );
+
+        int node = 0; // nodes are indexes into the sorted ids
+        assertThat(patched.title(node)).isEqualTo("renamed");
+        assertThat(patched.isDone(node)).isTrue();
+        assertThat(patched.dueDate(node)).isEqualTo(TODAY);
+        assertThat(ids(patched, patched.unblocked())).containsExactly(2L, 4L, 5L);
+        assertThat(ids(patched, patched.topologicalOrder())).containsExactly(1L, 5L, 2L, 4L, 3L);
+        assertThat(patched.edgeCount()).isEqualTo(3);
+        assertThat(patched.nodeCount()).isEqualTo(5);
+
+        assertThat(original.title(node)).isEqualTo("task 1");
+        assertThat(original.isDone(node)).isFalse();
+        assertThat(ids(original, original.unblocked())).containsExactly(1L, 5L);
+    }
+
+    // ---------- helpers ----------
+
+    private static TaskGraph graph(TaskStatus[] statuses, LocalDate[] dueDates, long[] blockers, long[] blocked) {
+        String[] titles = new String[IDS.length];
+        for (int i = 0; i < IDS.length; i++) {
+            titles[i] = "task " + IDS[i];
+        }
+        return TaskGraph.build(IDS, titles, statuses, dueDates, blockers, blocked);
+    }
+
+    private static TaskStatus[] open() {
+        TaskStatus[] statuses = new TaskStatus[IDS.length];
+        Arrays.fill(statuses, TaskStatus.TODO);
+        return statuses;
+    }
+
+    private static LocalDate[] noDueDates() {
+        return new LocalDate[IDS.length];
+    }
+
+    private static int indexOf(long id) {
+        for (int i = 0; i < IDS.length; i++) {
+            if (IDS[i] == id) return i;
+        }
+        throw new IllegalArgumentException("no task " + id);
+    }
+
+    private static Long[] ids(TaskGraph graph, int[] nodes) {
+        return Arrays.stream(nodes).mapToObj(graph::id).toArray(Long[]::new);
+    }
+}
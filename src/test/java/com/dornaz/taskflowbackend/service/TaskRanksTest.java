@@ -0,0 +1,94 @@
+package com.dornaz.taskflowbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskRanksTest {
+
+    @Test
+    void afterEmptyListIsTheMidpoint() {
+        assertThat(TaskRanks.after(null)).isEqualTo("i");
+        assertThat(TaskRanks.after("")).isEqualTo("i");
+    }
+
+    @Test
+    void appendsIncreaseWithoutGrowing() {
+        String rank = TaskRanks.after(null);
+        for (int i = 0; i < 1000; i++) {
+            String next = TaskRanks.after(rank);
+            assertThat(next).isGreaterThan(rank).doesNotEndWith("0");
+            assertThat(next.length()).isLessThanOrEqualTo(6);
+            rank = next;
+        }
+    }
+
+    @Test
+    void afterAllZDigitsExtends() {
+        assertThat(TaskRanks.after("zzzzzz")).isEqualTo("zzzzzzi");
+    }
+
+    @Test
+    void betweenIsStrictlyInside() {
+        assertBetween("a", "b");
+        assertBetween("a", "a1");
+        assertBetween(null, "1");
+        assertBetween("y", null);
+        assertBetween("azz", "b");
+        assertBetween("i", "i0001");
+    }
+
+    @Test
+    void betweenRejectsDuplicateOrReversedRanks() {
+        assertThatThrownBy(() -> TaskRanks.between("i", "i")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskRanks.between("j", "i")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void evenlySpacedIsIncreasingAndLeavesRoom() {
+        for (int count : new int[]{0, 1, 35, 36, 1000, 5000}) {
+            List<String> ranks = TaskRanks.evenlySpaced(count);
+            assertThat(ranks).hasSize(count);
+            for (int i = 0; i < count; i++) {
+                assertThat(ranks.get(i)).doesNotEndWith("0");
+                if (i > 0) {
+                    assertThat(ranks.get(i)).isGreaterThan(ranks.get(i - 1));
+                    // one more digit is enough to fit a task between neighbours
+                    assertThat(TaskRanks.between(ranks.get(i - 1), ranks.get(i)).length())
+                            .isLessThanOrEqualTo(ranks.get(i).length() + 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    void randomInsertsKeepOrder() {
+        Random random = new Random(42);
+        List<String> ranks = new ArrayList<>(TaskRanks.evenlySpaced(10));
+        for (int i = 0; i < 2000; i++) {
+            int at = random.nextInt(ranks.size() + 1);
+            String lo = at > 0 ? ranks.get(at - 1) : null;
+            String hi = at < ranks.size() ? ranks.get(at) : null;
+            String rank = TaskRanks.between(lo, hi);
+            assertThat(rank).doesNotEndWith("0");
+            ranks.add(at, rank);
+        }
+        assertThat(ranks).isSorted().doesNotHaveDuplicates();
+    }
+
+    private static void assertBetween(String lo, String hi) {
+        String rank = TaskRanks.between(lo, hi);
+        assertThat(rank).doesNotEndWith("0");
+        if (lo != null) {
+            assertThat(rank).isGreaterThan(lo);
+        }
+        if (hi != null) {
+            assertThat(rank).isLessThan(hi);
+        }
+    }
+}